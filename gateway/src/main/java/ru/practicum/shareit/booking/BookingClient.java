@@ -1,38 +1,43 @@
 package ru.practicum.shareit.booking;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState bookingState) {
-        Map<String, Object> parameters = Map.of(
-                "state", bookingState.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState bookingState, LocalDateTime cursorStart,
+                                              Long cursorId, Integer size) {
+        return getPage("", userId, bookingState, cursorStart, cursorId, size);
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
@@ -48,10 +53,37 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingsByOwner(Long userId, BookingState bookingState) {
-        Map<String, Object> parameters = Map.of(
-                "state", bookingState.name()
-        );
-        return get("/owner", userId, parameters);
+    public ResponseEntity<Object> bookingApprovingBatch(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public ResponseEntity<Object> getAllBookingsByOwner(Long userId, BookingState bookingState,
+                                                        LocalDateTime cursorStart, Long cursorId, Integer size) {
+        return getPage("/owner", userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    public ResponseEntity<Object> getBookingStats(long userId) {
+        return get("/stats", userId);
+    }
+
+    public ResponseEntity<Object> getBookingStatsByOwner(long userId) {
+        return get("/owner/stats", userId);
+    }
+
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState bookingState,
+                                           LocalDateTime cursorStart, Long cursorId, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", bookingState.name());
+        parameters.put("size", size);
+        String query = "?state={state}&size={size}";
+        if (cursorStart != null) {
+            parameters.put("cursorStart", cursorStart);
+            query += "&cursorStart={cursorStart}";
+        }
+        if (cursorId != null) {
+            parameters.put("cursorId", cursorId);
+            query += "&cursorId={cursorId}";
+        }
+        return get(path + query, userId, parameters);
     }
 }
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -22,11 +33,15 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                              @RequestParam(required = false) Long cursorId,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
         BookingState bookingState = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}", stateParam, userId);
-        return bookingClient.getBookings(userId, bookingState);
+        log.info("Get booking with state {}, userId={}, cursor=({}, {})", stateParam, userId, cursorStart, cursorId);
+        return bookingClient.getBookings(userId, bookingState, cursorStart, cursorId, size);
     }
 
     @PostMapping
@@ -50,9 +65,35 @@ public class BookingController {
         return bookingClient.bookingApproving(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> bookingApprovingBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestBody @NotEmpty @Size(max = 100)
+                                                        List<@Valid BookingDecisionDto> decisions) {
+        log.info("Review {} bookings, userId={}", decisions.size(), userId);
+        return bookingClient.bookingApprovingBatch(userId, decisions);
+    }
+
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                        @RequestParam(required = false, defaultValue = "ALL") BookingState bookingState) {
-        return bookingClient.getAllBookingsByOwner(userId, bookingState);
+                                                        @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                        @RequestParam(required = false) Long cursorId,
+                                                        @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        BookingState bookingState = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookingsByOwner(userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getBookingStats(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get booking stats, userId={}", userId);
+        return bookingClient.getBookingStats(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Object> getBookingStatsByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get owner booking stats, userId={}", userId);
+        return bookingClient.getBookingStatsByOwner(userId);
     }
 }
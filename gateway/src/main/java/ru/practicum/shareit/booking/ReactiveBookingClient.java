@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookings(long userId, BookingState bookingState,
+                                                              LocalDateTime cursorStart, Long cursorId, Integer size) {
+        return getPage("", userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookingApproving(Long userId, Long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookingApprovingBatch(long userId,
+                                                                        List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, null, decisions);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookingsByOwner(Long userId, BookingState bookingState,
+                                                                        LocalDateTime cursorStart, Long cursorId,
+                                                                        Integer size) {
+        return getPage("/owner", userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingStats(long userId) {
+        return get("/stats", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingStatsByOwner(long userId) {
+        return get("/owner/stats", userId);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> getPage(String path, long userId, BookingState bookingState,
+                                                           LocalDateTime cursorStart, Long cursorId, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", bookingState.name());
+        parameters.put("size", size);
+        String query = "?state={state}&size={size}";
+        if (cursorStart != null) {
+            parameters.put("cursorStart", cursorStart);
+            query += "&cursorStart={cursorStart}";
+        }
+        if (cursorId != null) {
+            parameters.put("cursorId", cursorId);
+            query += "&cursorId={cursorId}";
+        }
+        return get(path + query, userId, parameters);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Controller
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                              @RequestParam(required = false) Long cursorId,
+                                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        BookingState bookingState = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, cursor=({}, {})", stateParam, userId, cursorStart, cursorId);
+        return bookingClient.getBookings(userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @PathVariable Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookingApproving(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @PathVariable Long bookingId,
+                                                                   @RequestParam Boolean approved) {
+        return bookingClient.bookingApproving(userId, bookingId, approved);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookingApprovingBatch(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                        @RequestBody @NotEmpty @Size(max = 100)
+                                                                        List<@Valid BookingDecisionDto> decisions) {
+        log.info("Review {} bookings, userId={}", decisions.size(), userId);
+        return bookingClient.bookingApprovingBatch(userId, decisions);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                        @RequestParam(required = false)
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                                        @RequestParam(required = false) Long cursorId,
+                                                                        @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        BookingState bookingState = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookingsByOwner(userId, bookingState, cursorStart, cursorId, size);
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingStats(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get booking stats, userId={}", userId);
+        return bookingClient.getBookingStats(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingStatsByOwner(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get owner booking stats, userId={}", userId);
+        return bookingClient.getBookingStatsByOwner(userId);
+    }
+}
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,7 +14,10 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -35,14 +42,23 @@ public class ItemController {
         return itemClient.getItemById(itemId);
     }
 
+    @GetMapping("/{itemId}/calendar")
+    public ResponseEntity<Object> getItemCalendar(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getItemCalendar(itemId, from, to);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getOwnersItems(@RequestHeader(header) Long userId) {
         return itemClient.getOwnersItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemByNameOrDescription(@RequestParam("text") String text) {
-        return itemClient.searchItemByNameOrDescription(text);
+    public ResponseEntity<Object> searchItemByNameOrDescription(@RequestParam("text") String text,
+                                                                @RequestParam(name = "size", defaultValue = "100")
+                                                                @Positive @Max(100) Integer size) {
+        return itemClient.searchItemByNameOrDescription(text, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(Long userId, ItemDto item) {
+        return post("", userId, item);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(Long userId, Long itemId, ItemDto item) {
+        return patch("/" + itemId, userId, null, item);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(Long itemId) {
+        return get("/" + itemId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnersItems(Long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItemByNameOrDescription(String text, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "size", size
+        );
+        return get("/search?text={text}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/calendar?from={from}&to={to}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postComment(Long userId, Long itemId, CommentCreateDto commentCreateDto) {
+        return post("/" + itemId + "/comment", userId, commentCreateDto);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+
+@Controller
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+    private final String header = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(@RequestHeader(header) Long userId, @Valid @RequestBody ItemDto item) {
+        return itemClient.createItem(userId, item);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@RequestHeader(header) Long userId, @PathVariable Long itemId, @RequestBody ItemDto item) {
+        return itemClient.updateItem(userId, itemId, item);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(@PathVariable Long itemId) {
+        return itemClient.getItemById(itemId);
+    }
+
+    @GetMapping("/{itemId}/calendar")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemCalendar(@PathVariable Long itemId,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getItemCalendar(itemId, from, to);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnersItems(@RequestHeader(header) Long userId) {
+        return itemClient.getOwnersItems(userId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItemByNameOrDescription(@RequestParam("text") String text,
+                                                                                @RequestParam(name = "size", defaultValue = "100")
+                                                                                @Positive @Max(100) Integer size) {
+        return itemClient.searchItemByNameOrDescription(text, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(@RequestHeader(header) Long userId,
+                                                             @PathVariable Long itemId, @Valid @RequestBody CommentCreateDto commentCreateDto) {
+        return itemClient.postComment(userId, itemId, commentCreateDto);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@Controller
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestController {
+
+    private final String header = "X-Sharer-User-Id";
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(@RequestHeader(header) Long userId, @RequestBody ItemRequestDto itemRequestDto) {
+        return requestClient.createItemRequest(userId, itemRequestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUsersRequests(@RequestHeader(header) Long userId) {
+        return requestClient.getAllUsersRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests() {
+        return requestClient.getAllRequests();
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@PathVariable Long requestId) {
+        return requestClient.getRequestById(requestId);
+    }
+}
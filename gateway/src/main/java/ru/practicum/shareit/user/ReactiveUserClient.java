@@ -0,0 +1,41 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(UserDto user) {
+        return post("", user);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(Long id, UserDto user) {
+        return patch("/" + id, user);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(Long id) {
+        return get("/" + id);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(Long id) {
+        return delete("/" + id);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Controller
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(@Valid @RequestBody UserDto user) {
+        return userClient.createUser(user);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@PathVariable Long id, @RequestBody UserDto user) {
+        return userClient.updateUser(id, user);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(@PathVariable Long id) {
+        return userClient.getUserById(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(@PathVariable Long id) {
+        return userClient.deleteUserById(id);
+    }
+}
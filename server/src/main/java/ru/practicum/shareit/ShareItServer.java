@@ -2,7 +2,14 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableRetry
+@EnableScheduling
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
 @SpringBootApplication
 public class ShareItServer {
 
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Завершенное бронирование, перенесенное из bookings в bookings_archive. Сохраняет исходный ид.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "bookings_archive", schema = "public")
+public class ArchivedBooking {
+    @Id
+    @Column(name = "id")
+    private Long id;
+    @Column(name = "start_date")
+    private LocalDateTime start;
+    @Column(name = "end_date")
+    private LocalDateTime end;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id", nullable = false)
+    private User booker;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+    @Column(name = "version", nullable = false)
+    private long version;
+}
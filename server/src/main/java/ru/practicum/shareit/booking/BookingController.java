@@ -1,12 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -37,15 +43,39 @@ public class BookingController {
         return bookingService.bookingApproving(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> bookingApprovingBatch(@RequestHeader(header) Long userId,
+                                                                @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.bookingApprovingBatch(userId, decisions);
+    }
+
     @GetMapping
     public List<BookingDto> getAllBookings(@RequestHeader(header) Long userId,
-                                           @RequestParam(required = false, defaultValue = "ALL") BookingState bookingState) {
-        return bookingService.getAllBookings(userId, bookingState);
+                                           @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                           @RequestParam(required = false) Long cursorId,
+                                           @RequestParam(defaultValue = "20") Integer size) {
+        return bookingService.getAllBookings(userId, bookingState, new BookingCursor(cursorStart, cursorId, size));
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllBookingsByOwner(@RequestHeader(header) Long userId,
-                                                  @RequestParam(required = false, defaultValue = "ALL") BookingState bookingState) {
-        return bookingService.getAllBookingsByOwner(userId, bookingState);
+                                                  @RequestParam(name = "state", defaultValue = "ALL") BookingState bookingState,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorStart,
+                                                  @RequestParam(required = false) Long cursorId,
+                                                  @RequestParam(defaultValue = "20") Integer size) {
+        return bookingService.getAllBookingsByOwner(userId, bookingState, new BookingCursor(cursorStart, cursorId, size));
+    }
+
+    @GetMapping("/stats")
+    public BookingStatsDto getBookingStats(@RequestHeader(header) Long userId) {
+        return bookingService.getBookingStats(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public BookingStatsDto getBookingStatsByOwner(@RequestHeader(header) Long userId) {
+        return bookingService.getBookingStatsByOwner(userId);
     }
 }
@@ -6,8 +6,10 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
 @Component
 @RequiredArgsConstructor
@@ -18,8 +20,10 @@ public class BookingMapper {
                 booking.getId(),
                 booking.getStart(),
                 booking.getEnd(),
-                booking.getItem(),
-                booking.getBooker(),
+                booking.getItem().getId(),
+                booking.getItem().getName(),
+                booking.getBooker().getId(),
+                booking.getBooker().getName(),
                 booking.getStatus()
         );
     }
@@ -29,12 +33,29 @@ public class BookingMapper {
         booking.setId(bookingDto.getId());
         booking.setStart(bookingDto.getStart());
         booking.setEnd(bookingDto.getEnd());
-        booking.setItem(bookingDto.getItem());
-        booking.setBooker(bookingDto.getBooker());
+        Item item = new Item();
+        item.setId(bookingDto.getItem().getId());
+        booking.setItem(item);
+        User booker = new User();
+        booker.setId(bookingDto.getBooker().getId());
+        booking.setBooker(booker);
         booking.setStatus(bookingDto.getStatus());
         return booking;
     }
 
+    public static Booking toBooking(ArchivedBooking archivedBooking) {
+        Booking booking = new Booking();
+        booking.setId(archivedBooking.getId());
+        booking.setStart(archivedBooking.getStart());
+        booking.setEnd(archivedBooking.getEnd());
+        booking.setItem(archivedBooking.getItem());
+        booking.setOwner(archivedBooking.getOwner());
+        booking.setBooker(archivedBooking.getBooker());
+        booking.setStatus(archivedBooking.getStatus());
+        booking.setVersion(archivedBooking.getVersion());
+        return booking;
+    }
+
     public static Booking toBooking(CreateBookingDto createBookingDto, ItemDto itemDto, UserDto userDto, Status waiting) {
         Booking booking = new Booking();
         booking.setStart(createBookingDto.getStart());
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Переносит рассмотренные бронирования, закончившиеся раньше чем shareit.booking.archive.after назад,
+ * из bookings в bookings_archive. Ожидающие подтверждения бронирования остаются в bookings,
+ * поэтому списки CURRENT, FUTURE и WAITING читают только bookings.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private final JpaBookingRepository bookingRepository;
+    private final JpaArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public BookingArchiver(JpaBookingRepository bookingRepository,
+                           JpaArchivedBookingRepository archivedBookingRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${shareit.booking.archive.after:30d}") Duration archiveAfter,
+                           @Value("${shareit.booking.archive.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking.archive.interval:PT1H}",
+            fixedDelayString = "${shareit.booking.archive.interval:PT1H}")
+    public void archiveEndedBookings() {
+        int archived = archiveEndedBefore(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minus(archiveAfter));
+        if (archived > 0) {
+            log.info("{} ended bookings moved to archive", archived);
+        }
+    }
+
+    public int archiveEndedBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            if (moved == null || moved == 0) {
+                return archived;
+            }
+            archived += moved;
+        }
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = bookingRepository.findArchivableIds(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedBookingRepository.copyFromBookings(ids);
+        return bookingRepository.deleteAllByIdIn(ids);
+    }
+}
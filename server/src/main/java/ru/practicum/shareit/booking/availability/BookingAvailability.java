@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Занятость вещей подтвержденными бронированиями и соседние бронирования вещей.
+ * Реализация выбирается вместе с блокировкой вещи свойством shareit.booking.lock.
+ */
+public interface BookingAvailability {
+
+    boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    LocalDateTime nextFreeSlot(Long itemId, LocalDateTime from, Duration duration);
+
+    Map<Long, Long> lastBookingIds(Collection<Long> itemIds, LocalDateTime now);
+
+    Map<Long, Long> nextBookingIds(Collection<Long> itemIds, LocalDateTime now);
+
+    void index(Booking booking);
+}
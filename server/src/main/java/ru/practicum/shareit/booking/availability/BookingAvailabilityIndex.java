@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.availability;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ожидающие и подтвержденные бронирования, которые еще не закончились, по вещам.
+ * Отвечает на вопросы о занятости вещи и соседних бронированиях без запросов к базе.
+ * Индекс строится до запуска веб-сервера, изменения попадают в него только после фиксации транзакции.
+ * Изменения, зафиксированные во время перестроения, повторно применяются к новому индексу перед подменой.
+ * Индекс видит только бронирования своего процесса, поэтому используется лишь с блокировкой stripe
+ * на единственном экземпляре сервера.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "stripe", matchIfMissing = true)
+public class BookingAvailabilityIndex implements BookingAvailability {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final List<Status> INDEXED_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final JpaBookingRepository bookingRepository;
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private Queue<SlotUpdate> updatesDuringRebuild;
+
+    @Override
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return timeline(itemId).isFree(toMicros(start), toMicros(end));
+    }
+
+    @Override
+    public LocalDateTime nextFreeSlot(Long itemId, LocalDateTime from, Duration duration) {
+        return fromMicros(timeline(itemId).nextFreeSlot(toMicros(from), duration.toNanos() / 1000));
+    }
+
+    public Long lastBookingId(Long itemId, LocalDateTime now) {
+        return timeline(itemId).lastBookingId(toMicros(now));
+    }
+
+    public Long nextBookingId(Long itemId, LocalDateTime now) {
+        return timeline(itemId).nextBookingId(toMicros(now));
+    }
+
+    @Override
+    public Map<Long, Long> lastBookingIds(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, Long> ids = new HashMap<>();
+        for (Long itemId : itemIds) {
+            Long bookingId = lastBookingId(itemId, now);
+            if (bookingId != null) {
+                ids.put(itemId, bookingId);
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Map<Long, Long> nextBookingIds(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, Long> ids = new HashMap<>();
+        for (Long itemId : itemIds) {
+            Long bookingId = nextBookingId(itemId, now);
+            if (bookingId != null) {
+                ids.put(itemId, bookingId);
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void index(Booking booking) {
+        SlotUpdate update = new SlotUpdate(booking.getItem().getId(), booking.getId(), toSlot(booking));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        Map<Long, ItemTimeline> rebuilt = new ConcurrentHashMap<>();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Page<Booking> page = bookingRepository.findAllByStatusInAndEndAfter(INDEXED_STATUSES, now,
+                PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+        int indexed = 0;
+        while (true) {
+            for (Booking booking : page) {
+                BookingSlot slot = toSlot(booking);
+                rebuilt.compute(booking.getItem().getId(),
+                        (id, current) -> (current != null ? current : ItemTimeline.EMPTY).with(slot));
+                indexed++;
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = bookingRepository.findAllByStatusInAndEndAfter(INDEXED_STATUSES, now, page.nextPageable());
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            updatesDuringRebuild.forEach(update -> put(rebuilt, update));
+            updatesDuringRebuild = null;
+            timelines = rebuilt;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Booking availability index rebuilt, {} bookings of {} items indexed", indexed, rebuilt.size());
+    }
+
+    private void apply(SlotUpdate update) {
+        rebuildLock.readLock().lock();
+        try {
+            put(timelines, update);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static void put(Map<Long, ItemTimeline> timelines, SlotUpdate update) {
+        long now = toMicros(LocalDateTime.now());
+        timelines.compute(update.itemId(), (id, current) -> {
+            ItemTimeline timeline = current != null ? current : ItemTimeline.EMPTY;
+            ItemTimeline updated = update.slot() != null ? timeline.with(update.slot())
+                    : timeline.without(update.bookingId());
+            updated = updated.withoutEndedBy(now);
+            return updated.size() > 0 ? updated : null;
+        });
+    }
+
+    private ItemTimeline timeline(Long itemId) {
+        return timelines.getOrDefault(itemId, ItemTimeline.EMPTY);
+    }
+
+    private static BookingSlot toSlot(Booking booking) {
+        if (!INDEXED_STATUSES.contains(booking.getStatus())) {
+            return null;
+        }
+        return new BookingSlot(booking.getId(), toMicros(booking.getStart()), toMicros(booking.getEnd()),
+                booking.getStatus() == Status.APPROVED);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    private record SlotUpdate(Long itemId, long bookingId, BookingSlot slot) {
+    }
+}
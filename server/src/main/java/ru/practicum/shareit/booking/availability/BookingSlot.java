@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.Value;
+
+@Value
+class BookingSlot {
+    long bookingId;
+    long start;
+    long end;
+    boolean approved;
+}
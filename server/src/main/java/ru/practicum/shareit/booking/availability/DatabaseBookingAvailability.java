@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Для нескольких экземпляров сервера: каждый ответ читается из таблицы bookings,
+ * поэтому проверка под advisory-блокировкой видит бронирования, подтвержденные другими экземплярами.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "advisory")
+public class DatabaseBookingAvailability implements BookingAvailability {
+
+    private static final List<Status> NEIGHBOUR_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final Comparator<Booking> LATEST_END = Comparator.comparing(Booking::getEnd).reversed()
+            .thenComparing(Booking::getStart)
+            .thenComparing(Booking::getId);
+    private static final Comparator<Booking> EARLIEST_START = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getId);
+
+    private final JpaBookingRepository bookingRepository;
+
+    @Override
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return !bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED,
+                end, start);
+    }
+
+    @Override
+    public LocalDateTime nextFreeSlot(Long itemId, LocalDateTime from, Duration duration) {
+        LocalDateTime candidate = from;
+        for (Booking booking : bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(itemId,
+                Status.APPROVED, from)) {
+            if (!booking.getStart().isBefore(candidate.plus(duration))) {
+                break;
+            }
+            if (booking.getEnd().isAfter(candidate)) {
+                candidate = booking.getEnd();
+            }
+        }
+        return candidate;
+    }
+
+    @Override
+    public Map<Long, Long> lastBookingIds(Collection<Long> itemIds, LocalDateTime now) {
+        return firstByItem(bookingRepository.findAllByItem_IdInAndStatusInAndEndAfter(itemIds,
+                NEIGHBOUR_STATUSES, now), LATEST_END);
+    }
+
+    @Override
+    public Map<Long, Long> nextBookingIds(Collection<Long> itemIds, LocalDateTime now) {
+        return firstByItem(bookingRepository.findAllByItem_IdInAndStatusInAndStartAfter(itemIds,
+                NEIGHBOUR_STATUSES, now), EARLIEST_START);
+    }
+
+    @Override
+    public void index(Booking booking) {
+        // ответы читаются из таблицы bookings, хранить в памяти нечего
+    }
+
+    private static Map<Long, Long> firstByItem(List<Booking> bookings, Comparator<Booking> order) {
+        Map<Long, Booking> first = new HashMap<>();
+        for (Booking booking : bookings) {
+            first.merge(booking.getItem().getId(), booking,
+                    (current, candidate) -> order.compare(candidate, current) < 0 ? candidate : current);
+        }
+        Map<Long, Long> ids = new HashMap<>();
+        first.forEach((itemId, booking) -> ids.put(itemId, booking.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Неизменяемый набор бронирований одной вещи, отсортированный по (start, id).
+ * Префиксные максимумы окончаний дают проверку пересечения и поиск соседних бронирований за O(log n).
+ */
+final class ItemTimeline {
+
+    static final ItemTimeline EMPTY = new ItemTimeline(new long[0], new long[0], new long[0], new boolean[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] approved;
+    private final long[] maxApprovedEnd;
+    private final int latestEndIndex;
+
+    private ItemTimeline(long[] ids, long[] starts, long[] ends, boolean[] approved) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.approved = approved;
+        this.maxApprovedEnd = new long[ids.length];
+        int latest = -1;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ids.length; i++) {
+            if (approved[i] && ends[i] > max) {
+                max = ends[i];
+            }
+            maxApprovedEnd[i] = max;
+            if (latest < 0 || ends[i] > ends[latest]) {
+                latest = i;
+            }
+        }
+        this.latestEndIndex = latest;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    ItemTimeline with(BookingSlot slot) {
+        ItemTimeline base = without(slot.getBookingId());
+        int n = base.ids.length;
+        int position = base.lowerBound(slot.getStart());
+        while (position < n && base.starts[position] == slot.getStart() && base.ids[position] < slot.getBookingId()) {
+            position++;
+        }
+        long[] newIds = insert(base.ids, position, slot.getBookingId());
+        long[] newStarts = insert(base.starts, position, slot.getStart());
+        long[] newEnds = insert(base.ends, position, slot.getEnd());
+        boolean[] newApproved = new boolean[n + 1];
+        System.arraycopy(base.approved, 0, newApproved, 0, position);
+        newApproved[position] = slot.isApproved();
+        System.arraycopy(base.approved, position, newApproved, position + 1, n - position);
+        return new ItemTimeline(newIds, newStarts, newEnds, newApproved);
+    }
+
+    ItemTimeline without(long bookingId) {
+        int i = indexOf(bookingId);
+        if (i < 0) {
+            return this;
+        }
+        return retain(j -> j != i);
+    }
+
+    ItemTimeline withoutEndedBy(long now) {
+        for (long end : ends) {
+            if (end <= now) {
+                return retain(j -> ends[j] > now);
+            }
+        }
+        return this;
+    }
+
+    boolean isFree(long from, long to) {
+        int last = lowerBound(to) - 1;
+        return last < 0 || maxApprovedEnd[last] <= from;
+    }
+
+    long nextFreeSlot(long from, long duration) {
+        long candidate = from;
+        while (true) {
+            int last = lowerBound(candidate + duration) - 1;
+            if (last < 0 || maxApprovedEnd[last] <= candidate) {
+                return candidate;
+            }
+            candidate = maxApprovedEnd[last];
+        }
+    }
+
+    Long lastBookingId(long now) {
+        if (latestEndIndex < 0 || ends[latestEndIndex] <= now) {
+            return null;
+        }
+        return ids[latestEndIndex];
+    }
+
+    Long nextBookingId(long now) {
+        int next = lowerBound(now + 1);
+        return next < ids.length ? ids[next] : null;
+    }
+
+    private int lowerBound(long start) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(long bookingId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == bookingId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ItemTimeline retain(IntPredicate keep) {
+        int[] kept = IntStream.range(0, ids.length).filter(keep).toArray();
+        long[] newIds = new long[kept.length];
+        long[] newStarts = new long[kept.length];
+        long[] newEnds = new long[kept.length];
+        boolean[] newApproved = new boolean[kept.length];
+        for (int k = 0; k < kept.length; k++) {
+            newIds[k] = ids[kept[k]];
+            newStarts[k] = starts[kept[k]];
+            newEnds[k] = ends[kept[k]];
+            newApproved[k] = approved[kept[k]];
+        }
+        return new ItemTimeline(newIds, newStarts, newEnds, newApproved);
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        result[position] = value;
+        return result;
+    }
+}
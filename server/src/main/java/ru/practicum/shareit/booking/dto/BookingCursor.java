@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Позиция страницы в списке бронирований, отсортированном по (start, id) по убыванию.
+ * Для первой страницы start и id не заполняются, для следующих передаются значения последнего
+ * бронирования предыдущей страницы.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingCursor {
+    private LocalDateTime start;
+    private Long id;
+    private int size;
+
+    public static BookingCursor firstPage(int size) {
+        return new BookingCursor(null, null, size);
+    }
+}
@@ -4,8 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.Status;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 
@@ -19,7 +19,12 @@ public class BookingDto {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private ItemShortDto item;
+    private UserShortDto booker;
     private Status status;
+
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName,
+                      Long bookerId, String bookerName, Status status) {
+        this(id, start, end, new ItemShortDto(itemId, itemName), new UserShortDto(bookerId, bookerName), status);
+    }
 }
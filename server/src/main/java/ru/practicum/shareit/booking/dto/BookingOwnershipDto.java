@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.Status;
+
+/**
+ * Владелец вещи и статус бронирования, достаточные для проверки перехода статуса.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingOwnershipDto {
+    private Long bookingId;
+    private Long ownerId;
+    private Status status;
+}
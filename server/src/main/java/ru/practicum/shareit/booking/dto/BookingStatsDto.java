@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Количество бронирований пользователя в каждом из состояний {@link BookingState}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingStatsDto {
+    private Long all;
+    private Long current;
+    private Long past;
+    private Long future;
+    private Long waiting;
+    private Long rejected;
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Отменяет бронирования, которые так и не были рассмотрены до даты начала.
+ * Сроки ожидающих бронирований хранятся в {@link HashedTimingWheel}: колесо заполняется из базы при старте,
+ * пополняется при создании бронирования и очищается при его рассмотрении. Истекшие бронирования
+ * переводятся в CANCELED пачками по shareit.booking.expiry.batch-size одним UPDATE на пачку.
+ */
+@Slf4j
+@Component
+public class BookingExpiryScheduler {
+
+    private final JpaBookingRepository bookingRepository;
+    private final BookingAvailability bookingAvailability;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final HashedTimingWheel wheel;
+    private final int batchSize;
+
+    public BookingExpiryScheduler(JpaBookingRepository bookingRepository,
+                                  BookingAvailability bookingAvailability,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${shareit.booking.expiry.tick:PT1S}") Duration tick,
+                                  @Value("${shareit.booking.expiry.wheel-size:512}") int wheelSize,
+                                  @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingAvailability = bookingAvailability;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = Clock.systemDefaultZone();
+        this.wheel = new HashedTimingWheel(tick.toMillis(), wheelSize, clock.millis());
+        this.batchSize = batchSize;
+    }
+
+    public void schedule(Booking booking) {
+        long bookingId = booking.getId();
+        long deadline = booking.getStart().atZone(clock.getZone()).toInstant().toEpochMilli();
+        afterCommit(() -> wheel.schedule(bookingId, deadline));
+    }
+
+    public void cancel(Long bookingId) {
+        afterCommit(() -> wheel.cancel(bookingId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = 0;
+        long lastId = 0;
+        while (true) {
+            List<Booking> bookings = bookingRepository.findAllByStatusAndIdGreaterThanOrderByIdAsc(Status.WAITING,
+                    lastId, Limit.of(batchSize));
+            for (Booking booking : bookings) {
+                wheel.schedule(booking.getId(), booking.getStart().atZone(clock.getZone()).toInstant().toEpochMilli());
+                lastId = booking.getId();
+            }
+            loaded += bookings.size();
+            if (bookings.size() < batchSize) {
+                break;
+            }
+        }
+        log.info("Booking expiry wheel loaded, {} waiting bookings scheduled", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.tick:PT1S}")
+    public void expireDue() {
+        List<Long> expired = wheel.advance(clock.millis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        int canceled = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                canceled += expire(batch, now);
+            } catch (RuntimeException e) {
+                log.warn("Failed to cancel {} expired bookings, retrying on next tick", batch.size(), e);
+                batch.forEach(id -> wheel.schedule(id, clock.millis()));
+            }
+        }
+        log.info("{} waiting bookings canceled after their start", canceled);
+    }
+
+    public int expire(Collection<Long> bookingIds, LocalDateTime now) {
+        Integer canceled = transactionTemplate.execute(status -> {
+            int updated = bookingRepository.cancelWaitingStartedBefore(bookingIds, now);
+            if (updated > 0) {
+                bookingRepository.findAllByIdInAndStatus(bookingIds, Status.CANCELED)
+                        .forEach(bookingAvailability::index);
+            }
+            return updated;
+        });
+        return canceled != null ? canceled : 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Хешированное колесо таймеров: сроки раскладываются по корзинам колеса по номеру такта,
+ * добавление и отмена работают за O(1), продвижение обходит только корзины прошедших тактов.
+ * Срок дальше одного оборота колеса ждет нужное число оборотов в своей корзине.
+ */
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final long startMillis;
+    private final Timeout[] buckets;
+    private final Map<Long, Timeout> timeouts = new HashMap<>();
+    private long tick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Длительность такта должна быть положительной");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Размер колеса должен быть степенью двойки");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.startMillis = startMillis;
+        this.buckets = new Timeout[wheelSize];
+    }
+
+    public synchronized void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis, tickMillis);
+        long targetTick = Math.max(deadlineTick, tick);
+        Timeout timeout = new Timeout(id, (targetTick - tick) / buckets.length);
+        int bucket = (int) (targetTick & mask);
+        timeout.bucket = bucket;
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+        timeouts.put(id, timeout);
+    }
+
+    public synchronized boolean cancel(long id) {
+        Timeout timeout = timeouts.remove(id);
+        if (timeout == null) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Обходит корзины тактов, закончившихся к nowMillis, и возвращает ид истекших сроков.
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        while (startMillis + (tick + 1) * tickMillis <= nowMillis) {
+            Timeout timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    unlink(timeout);
+                    timeouts.remove(timeout.id);
+                    expired.add(timeout.id);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private static final class Timeout {
+        private final long id;
+        private long rounds;
+        private int bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(long id, long rounds) {
+            this.id = id;
+            this.rounds = rounds;
+        }
+    }
+}
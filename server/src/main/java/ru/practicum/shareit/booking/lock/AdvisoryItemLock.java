@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.lock;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Для нескольких экземпляров сервера: транзакционная advisory-блокировка PostgreSQL,
+ * снимается самой базой при фиксации или откате.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "advisory")
+public class AdvisoryItemLock implements ItemLock {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void lockUntilTransactionEnd(Long itemId) {
+        entityManager.createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(:itemId)")
+                .setParameter("itemId", itemId)
+                .getSingleResult();
+    }
+}
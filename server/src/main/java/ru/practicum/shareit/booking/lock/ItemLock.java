@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.lock;
+
+/**
+ * Блокировка бронирований одной вещи до конца текущей транзакции.
+ */
+public interface ItemLock {
+
+    void lockUntilTransactionEnd(Long itemId);
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.ArchivedBooking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.shareit.booking.repository.JpaBookingRepository.AFTER_CURSOR;
+import static ru.practicum.shareit.booking.repository.JpaBookingRepository.DTO_COLUMNS;
+import static ru.practicum.shareit.booking.repository.JpaBookingRepository.PAGE_ORDER;
+import static ru.practicum.shareit.booking.repository.JpaBookingRepository.STATS_COLUMNS;
+
+public interface JpaArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    String SELECT_ARCHIVED_DTO = DTO_COLUMNS + "FROM ArchivedBooking b JOIN b.item i JOIN b.booker u ";
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<ArchivedBooking> findArchivedBookingById(Long bookingId);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, start, end, item, owner, booker, status, version) " +
+            "SELECT b.id, b.start, b.end, b.item, b.owner, b.booker, b.status, b.version FROM Booking b WHERE b.id IN :ids")
+    int copyFromBookings(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE u.id = :userId" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_Id(@Param("userId") Long userId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limit);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE u.id = :userId AND b.status = :status" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_IdAndStatus(@Param("userId") Long userId,
+                                                         @Param("status") Status status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Limit limit);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE u.id = :userId AND b.end < :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_IdAndEndIsBefore(@Param("userId") Long userId,
+                                                              @Param("now") LocalDateTime now,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE b.owner.id = :userId" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwner(@Param("userId") Long userId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limit);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE b.owner.id = :userId AND b.status = :status" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwnerAndStatus(@Param("userId") Long userId,
+                                                         @Param("status") Status status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Limit limit);
+
+    @Query(SELECT_ARCHIVED_DTO +
+            "WHERE b.owner.id = :userId AND b.end < :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwnerAndEndIsBefore(@Param("userId") Long userId,
+                                                              @Param("now") LocalDateTime now,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+
+    @Query(STATS_COLUMNS + "FROM ArchivedBooking b WHERE b.booker.id = :userId")
+    BookingStatsDto countBookingsByBooker_Id(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query(STATS_COLUMNS + "FROM ArchivedBooking b WHERE b.owner.id = :userId")
+    BookingStatsDto countBookingsByItemOwner(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    boolean existsByBooker_IdAndItem_IdAndStatus(Long userId, Long itemId, Status status);
+
+    List<ArchivedBooking> findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(Long itemId, Status status,
+                                                                                          LocalDateTime to,
+                                                                                          LocalDateTime from);
+}
@@ -1,74 +1,184 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOwnershipDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface JpaBookingRepository extends JpaRepository<Booking, Long> {
 
+    String AFTER_CURSOR = " AND (b.start, b.id) < (:cursorStart, :cursorId) ";
+    String PAGE_ORDER = " ORDER BY b.start DESC, b.id DESC";
+    String DTO_COLUMNS = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, i.id, i.name, u.id, u.name, b.status) ";
+    String SELECT_DTO = DTO_COLUMNS + "FROM Booking b JOIN b.item i JOIN b.booker u ";
+    String STATS_COLUMNS = "SELECT new ru.practicum.shareit.booking.dto.BookingStatsDto(count(b), " +
+            "coalesce(sum(CASE WHEN b.start <= :now AND b.end >= :now THEN 1 ELSE 0 END), 0), " +
+            "coalesce(sum(CASE WHEN b.end < :now THEN 1 ELSE 0 END), 0), " +
+            "coalesce(sum(CASE WHEN b.start > :now THEN 1 ELSE 0 END), 0), " +
+            "coalesce(sum(CASE WHEN b.status = ru.practicum.shareit.booking.Status.WAITING THEN 1 ELSE 0 END), 0), " +
+            "coalesce(sum(CASE WHEN b.status = ru.practicum.shareit.booking.Status.REJECTED THEN 1 ELSE 0 END), 0)) ";
+    String SELECT_STATS = STATS_COLUMNS + "FROM Booking b ";
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findBookingById(Long bookingId);
+
+    @Query(SELECT_DTO + "WHERE b.id = :bookingId")
+    Optional<BookingDto> findBookingDtoById(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId AND b.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "AND b.owner.id = :ownerId")
+    int updateWaitingStatus(@Param("bookingId") Long bookingId,
+                            @Param("ownerId") Long ownerId,
+                            @Param("status") Status status);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "AND b.owner.id = :ownerId")
+    int updateWaitingStatuses(@Param("ids") Collection<Long> ids,
+                              @Param("ownerId") Long ownerId,
+                              @Param("status") Status status);
+
+    @Query(SELECT_DTO +
+            "WHERE u.id = :userId" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_Id(@Param("userId") Long userId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE u.id = :userId AND b.status = :status" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_IdAndStatus(@Param("userId") Long userId,
+                                                         @Param("status") Status status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE u.id = :userId AND b.start <= :now AND b.end >= :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllCurrentBookingsByBooker_Id(@Param("userId") Long userId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE u.id = :userId AND b.end < :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_IdAndEndIsBefore(@Param("userId") Long userId,
+                                                              @Param("now") LocalDateTime now,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE u.id = :userId AND b.start > :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByBooker_IdAndStartIsAfter(@Param("userId") Long userId,
+                                                               @Param("now") LocalDateTime now,
+                                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                                               @Param("cursorId") Long cursorId,
+                                                               Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE b.owner.id = :userId" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwner(@Param("userId") Long userId,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE b.owner.id = :userId AND b.status = :status" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwnerAndStatus(@Param("userId") Long userId,
+                                                         @Param("status") Status status,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId,
+                                                         Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE b.owner.id = :userId AND b.start <= :now AND b.end >= :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllCurrentBookingsByItemOwner(@Param("userId") Long userId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE b.owner.id = :userId AND b.end < :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwnerAndEndIsBefore(@Param("userId") Long userId,
+                                                              @Param("now") LocalDateTime now,
+                                                              @Param("cursorStart") LocalDateTime cursorStart,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+
+    @Query(SELECT_DTO +
+            "WHERE b.owner.id = :userId AND b.start > :now" + AFTER_CURSOR + PAGE_ORDER)
+    List<BookingDto> findAllBookingsByItemOwnerAndStartIsAfter(@Param("userId") Long userId,
+                                                               @Param("now") LocalDateTime now,
+                                                               @Param("cursorStart") LocalDateTime cursorStart,
+                                                               @Param("cursorId") Long cursorId,
+                                                               Limit limit);
+
+    @Query(SELECT_STATS + "WHERE b.booker.id = :userId")
+    BookingStatsDto countBookingsByBooker_Id(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query(SELECT_STATS + "WHERE b.owner.id = :userId")
+    BookingStatsDto countBookingsByItemOwner(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByBooker_IdOrderByStartDesc(@Param("userId") Long userId);
+    List<Booking> findAllByBooker_IdAndItem_IdAndStatusAndEndBefore(Long userId, Long itemId, Status status, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.status = :status")
-    List<Booking> findAllBookingsByBooker_IdAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+    List<Booking> findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(Long itemId, Status status,
+                                                                                  LocalDateTime to, LocalDateTime from);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.end < :now ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByBooker_IdAndEndIsBeforeOrderByStartDesc(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Query(SELECT_DTO + "WHERE b.id IN :ids")
+    List<BookingDto> findAllBookingDtosByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.start > :now ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByBooker_IdAndStartIsAfterOrderByStartDesc(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingOwnershipDto(b.id, b.owner.id, b.status) " +
+            "FROM Booking b WHERE b.id IN :ids")
+    List<BookingOwnershipDto> findAllOwnershipsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND b.status = :status")
-    List<Booking> findBookingsByBooker_IdAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.end < :cutoff AND b.status <> ru.practicum.shareit.booking.Status.WAITING ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
-            "JOIN i.owner o " +
-            "WHERE o.id = :userId " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByItemOwnerOrderByStartDesc(@Param("userId") Long userId);
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
-            "JOIN i.owner o " +
-            "WHERE o.id = :userId AND b.status = :status")
-    List<Booking> findAllBookingsByItemOwnerAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+    List<Booking> findAllByStatusAndIdGreaterThanOrderByIdAsc(Status status, Long id, Limit limit);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
-            "JOIN i.owner o " +
-            "WHERE o.id = :userId AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByItemOwnerAndEndIsBeforeOrderByStartDesc(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ru.practicum.shareit.booking.Status.CANCELED, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = ru.practicum.shareit.booking.Status.WAITING AND b.start <= :now")
+    int cancelWaitingStartedBefore(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
-            "JOIN i.owner o " +
-            " WHERE o.id = :userId AND b.start > :now " +
-            " ORDER BY b.start DESC")
-    List<Booking> findAllBookingsByItemOwnerAndStartIsAfterOrderByStartDesc(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    List<Booking> findAllByIdInAndStatus(Collection<Long> ids, Status status);
 
-    @Query("SELECT b FROM Booking b " +
-            "JOIN b.item i " +
-            "JOIN i.owner o " +
-            "WHERE o.id = :userId AND b.status = :status")
-    List<Booking> findBookingsByItemOwnerAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+    Page<Booking> findAllByStatusInAndEndAfter(Collection<Status> statuses, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBooker_IdAndItem_IdAndStatusAndEndBefore(Long userId, Long itemId, Status status, LocalDateTime now);
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfter(Long itemId, Status status, LocalDateTime to,
+                                                             LocalDateTime from);
+
+    List<Booking> findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(Long itemId, Status status, LocalDateTime from);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :id AND b.end > :now " +
-            "ORDER BY b.end DESC")
-    Booking findLastBookingByItem_Id(@Param("id") Long id, @Param("now") LocalDateTime now);
+    List<Booking> findAllByItem_IdInAndStatusInAndEndAfter(Collection<Long> itemIds, Collection<Status> statuses,
+                                                           LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :id AND b.start > :now " +
-            "ORDER BY b.start ASC")
-    Booking findNextBookingByItem_Id(@Param("id") Long id, @Param("now") LocalDateTime now);
+    List<Booking> findAllByItem_IdInAndStatusInAndStartAfter(Collection<Long> itemIds, Collection<Status> statuses,
+                                                             LocalDateTime now);
 }
\ No newline at end of file
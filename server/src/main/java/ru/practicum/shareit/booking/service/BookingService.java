@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 
 import java.util.List;
@@ -13,7 +17,13 @@ public interface BookingService {
 
     BookingDto bookingApproving(Long userId, Long bookingId, boolean approved);
 
-    List<BookingDto> getAllBookings(Long userId, BookingState bookingState);
+    List<BookingDecisionResultDto> bookingApprovingBatch(Long userId, List<BookingDecisionDto> decisions);
 
-    List<BookingDto> getAllBookingsByOwner(Long userId, BookingState bookingState);
+    List<BookingDto> getAllBookings(Long userId, BookingState bookingState, BookingCursor cursor);
+
+    List<BookingDto> getAllBookingsByOwner(Long userId, BookingState bookingState, BookingCursor cursor);
+
+    BookingStatsDto getBookingStats(Long userId);
+
+    BookingStatsDto getBookingStatsByOwner(Long userId);
 }
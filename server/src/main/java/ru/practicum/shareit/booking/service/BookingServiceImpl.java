@@ -2,41 +2,79 @@ package ru.practicum.shareit.booking.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOwnershipDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.expiry.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.lock.ItemLock;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final LocalDateTime FIRST_PAGE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final int MAX_DECISIONS = 100;
+    private static final Comparator<BookingDto> PAGE_ORDER = Comparator.comparing(BookingDto::getStart)
+            .thenComparing(BookingDto::getId)
+            .reversed();
+
     private final JpaBookingRepository bookingRepository;
+    private final JpaArchivedBookingRepository archivedBookingRepository;
     private final UserService userService;
     private final JpaItemRepository jpaItemRepository;
+    private final BookingAvailability bookingAvailability;
+    private final ItemLock itemLock;
+    private final BookingExpiryScheduler bookingExpiryScheduler;
+    private final OutboxPublisher outboxPublisher;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Transactional
     @Override
     public BookingDto createBooking(Long userId, CreateBookingDto createBookingDto) {
-        checkIfUserExists(userId);
         UserDto userDto = userService.getUserById(userId);
         long idOfItem = createBookingDto.getItemId();
         Item item = jpaItemRepository.findById(idOfItem)
@@ -46,79 +84,320 @@ public class BookingServiceImpl implements BookingService {
         if (!itemDto.getAvailable()) {
             throw new BadRequestException("Вещь не доступна для бронирования");
         }
+        if (createBookingDto.getStart() == null || createBookingDto.getEnd() == null
+                || !createBookingDto.getStart().isBefore(createBookingDto.getEnd())) {
+            throw new BadRequestException("Дата начала бронирования должна быть раньше даты окончания");
+        }
+        itemLock.lockUntilTransactionEnd(idOfItem);
+        if (!bookingAvailability.isFree(idOfItem, createBookingDto.getStart(), createBookingDto.getEnd())) {
+            LocalDateTime freeFrom = bookingAvailability.nextFreeSlot(idOfItem, createBookingDto.getStart(),
+                    Duration.between(createBookingDto.getStart(), createBookingDto.getEnd()));
+            throw new ConflictException("Вещь уже забронирована на этот период, ближайшее свободное время: " + freeFrom);
+        }
         Booking booking = BookingMapper.toBooking(createBookingDto, itemDto, userDto, Status.WAITING);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        booking.setItem(item);
+        booking.setOwner(item.getOwner());
+        booking = bookingRepository.save(booking);
+        bookingAvailability.index(booking);
+        bookingExpiryScheduler.schedule(booking);
+        BookingDto created = BookingMapper.toBookingDto(booking);
+        outboxPublisher.publish(OutboxEventType.BOOKING_CREATED, created.getId(), created);
+        domainEventPublisher.publishAfterCommit(DomainEventType.BOOKING_CHANGED, created.getId());
+        return created;
     }
 
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.getById(bookingId);
-        if (booking == null) {
-            throw new NotFoundException("Бронирование не найдено");
-        }
-        if (!booking.getItem().getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
-            throw new ForbiddenException("Пользователь не является влвдельцем вещи");
-        }
-
-        return BookingMapper.toBookingDto(booking);
+        return BookingMapper.toBookingDto(getAccessibleBooking(userId, bookingId));
     }
 
     @Transactional
     @Override
     public BookingDto bookingApproving(Long userId, Long bookingId, boolean approved) {
-        Booking booking = BookingMapper.toBooking(getBookingById(userId, bookingId));
-        if (Boolean.TRUE.equals(approved)) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (updateWaitingStatus(bookingId, userId, status) == 0) {
+            return explainRejectedTransition(userId, bookingId, status);
         }
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        BookingDto booking = bookingRepository.findBookingDtoById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+        bookingAvailability.index(BookingMapper.toBooking(booking));
+        bookingExpiryScheduler.cancel(bookingId);
+        outboxPublisher.publish(statusChangedEvent(status), bookingId, booking);
+        domainEventPublisher.publishAfterCommit(DomainEventType.BOOKING_CHANGED, bookingId);
+        return booking;
+    }
+
+    @Transactional
+    @Override
+    public List<BookingDecisionResultDto> bookingApprovingBatch(Long userId, List<BookingDecisionDto> decisions) {
+        validateDecisions(decisions);
+        Map<Long, BookingOwnershipDto> ownerships = bookingRepository.findAllOwnershipsByIdIn(decisions.stream()
+                        .map(BookingDecisionDto::getBookingId)
+                        .toList()).stream()
+                .collect(Collectors.toMap(BookingOwnershipDto::getBookingId, Function.identity()));
+
+        Map<Long, String> errors = new HashMap<>();
+        Map<Status, List<Long>> transitions = new EnumMap<>(Status.class);
+        List<Long> accepted = new ArrayList<>();
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            Status status = decision.getApproved() ? Status.APPROVED : Status.REJECTED;
+            BookingOwnershipDto ownership = ownerships.get(bookingId);
+            if (ownership == null) {
+                errors.put(bookingId, "Бронирование не найдено");
+            } else if (!ownership.getOwnerId().equals(userId)) {
+                errors.put(bookingId, "Пользователь не является влвдельцем вещи");
+            } else if (ownership.getStatus() == Status.WAITING) {
+                transitions.computeIfAbsent(status, s -> new ArrayList<>()).add(bookingId);
+                accepted.add(bookingId);
+            } else if (ownership.getStatus() == status) {
+                accepted.add(bookingId);
+            } else {
+                errors.put(bookingId, "Бронирование уже рассмотрено");
+            }
+        }
+        for (Map.Entry<Status, List<Long>> transition : transitions.entrySet()) {
+            Status status = transition.getKey();
+            List<Long> ids = transition.getValue();
+            int updated = updateWaitingStatuses(ids, userId, status);
+            if (updated < ids.size()) {
+                transition.setValue(resolveChangedBookings(ids, status, updated, errors, accepted));
+            }
+        }
+
+        Map<Long, BookingDto> bookings = accepted.isEmpty() ? new HashMap<>()
+                : bookingRepository.findAllBookingDtosByIdIn(accepted).stream()
+                .collect(Collectors.toMap(BookingDto::getId, Function.identity()));
+        transitions.forEach((status, ids) -> ids.forEach(bookingId -> {
+            BookingDto booking = bookings.get(bookingId);
+            bookingAvailability.index(BookingMapper.toBooking(booking));
+            bookingExpiryScheduler.cancel(bookingId);
+            outboxPublisher.publish(statusChangedEvent(status), bookingId, booking);
+            domainEventPublisher.publishAfterCommit(DomainEventType.BOOKING_CHANGED, bookingId);
+        }));
+        return decisions.stream()
+                .map(decision -> new BookingDecisionResultDto(decision.getBookingId(),
+                        bookings.get(decision.getBookingId()), errors.get(decision.getBookingId())))
+                .toList();
     }
 
     @Override
-    public List<BookingDto> getAllBookings(Long userId, BookingState bookingState) {
+    public List<BookingDto> getAllBookings(Long userId, BookingState bookingState, BookingCursor cursor) {
         checkIfUserExists(userId);
-        List<Booking> bookings;
+        LocalDateTime cursorStart = cursorStart(cursor);
+        Long cursorId = cursorId(cursor);
+        Limit limit = Limit.of(cursor.getSize());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BookingDto> bookings;
 
         switch (bookingState) {
-            case ALL -> bookings = bookingRepository.findAllBookingsByBooker_IdOrderByStartDesc(userId);
-            case CURRENT -> bookings = bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.APPROVED);
-            case PAST -> bookings = bookingRepository.findAllBookingsByBooker_IdAndEndIsBeforeOrderByStartDesc(userId,
-                    LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-            case FUTURE ->
-                    bookings = bookingRepository.findAllBookingsByBooker_IdAndStartIsAfterOrderByStartDesc(userId,
-                            LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-            case WAITING -> bookings = bookingRepository.findBookingsByBooker_IdAndStatus(userId, Status.WAITING);
-            case REJECTED -> bookings = bookingRepository.findBookingsByBooker_IdAndStatus(userId, Status.REJECTED);
+            case ALL -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByBooker_Id(userId, cursorStart, cursorId, limit),
+                    archivedBookingRepository.findAllBookingsByBooker_Id(userId, cursorStart, cursorId, limit),
+                    limit);
+            case CURRENT -> bookings = bookingRepository.findAllCurrentBookingsByBooker_Id(userId, now,
+                    cursorStart, cursorId, limit);
+            case PAST -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByBooker_IdAndEndIsBefore(userId, now, cursorStart, cursorId,
+                            limit),
+                    archivedBookingRepository.findAllBookingsByBooker_IdAndEndIsBefore(userId, now, cursorStart,
+                            cursorId, limit),
+                    limit);
+            case FUTURE -> bookings = bookingRepository.findAllBookingsByBooker_IdAndStartIsAfter(userId, now,
+                    cursorStart, cursorId, limit);
+            case WAITING -> bookings = bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.WAITING,
+                    cursorStart, cursorId, limit);
+            case REJECTED -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.REJECTED, cursorStart,
+                            cursorId, limit),
+                    archivedBookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.REJECTED,
+                            cursorStart, cursorId, limit),
+                    limit);
             default -> throw new BadRequestException("Ошибка определения статуса");
         }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return bookings;
     }
 
     @Override
-    public List<BookingDto> getAllBookingsByOwner(Long userId, BookingState bookingState) {
+    public List<BookingDto> getAllBookingsByOwner(Long userId, BookingState bookingState, BookingCursor cursor) {
         checkIfUserExists(userId);
-        List<Booking> bookings;
+        LocalDateTime cursorStart = cursorStart(cursor);
+        Long cursorId = cursorId(cursor);
+        Limit limit = Limit.of(cursor.getSize());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BookingDto> bookings;
 
         switch (bookingState) {
-            case ALL -> bookings = bookingRepository.findAllBookingsByItemOwnerOrderByStartDesc(userId);
-            case CURRENT -> bookings = bookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.APPROVED);
-            case PAST -> bookings = bookingRepository.findAllBookingsByItemOwnerAndEndIsBeforeOrderByStartDesc(userId,
-                    LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-            case FUTURE ->
-                    bookings = bookingRepository.findAllBookingsByItemOwnerAndStartIsAfterOrderByStartDesc(userId,
-                            LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
-            case WAITING -> bookings = bookingRepository.findBookingsByItemOwnerAndStatus(userId, Status.WAITING);
-            case REJECTED -> bookings = bookingRepository.findBookingsByItemOwnerAndStatus(userId, Status.REJECTED);
+            case ALL -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByItemOwner(userId, cursorStart, cursorId, limit),
+                    archivedBookingRepository.findAllBookingsByItemOwner(userId, cursorStart, cursorId, limit),
+                    limit);
+            case CURRENT -> bookings = bookingRepository.findAllCurrentBookingsByItemOwner(userId, now,
+                    cursorStart, cursorId, limit);
+            case PAST -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByItemOwnerAndEndIsBefore(userId, now, cursorStart, cursorId,
+                            limit),
+                    archivedBookingRepository.findAllBookingsByItemOwnerAndEndIsBefore(userId, now, cursorStart,
+                            cursorId, limit),
+                    limit);
+            case FUTURE -> bookings = bookingRepository.findAllBookingsByItemOwnerAndStartIsAfter(userId, now,
+                    cursorStart, cursorId, limit);
+            case WAITING -> bookings = bookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.WAITING,
+                    cursorStart, cursorId, limit);
+            case REJECTED -> bookings = mergePages(
+                    bookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.REJECTED, cursorStart,
+                            cursorId, limit),
+                    archivedBookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.REJECTED,
+                            cursorStart, cursorId, limit),
+                    limit);
             default -> throw new BadRequestException("Ошибка определения статуса");
         }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return bookings;
+    }
+
+    @Override
+    public BookingStatsDto getBookingStats(Long userId) {
+        checkIfUserExists(userId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return sum(bookingRepository.countBookingsByBooker_Id(userId, now),
+                archivedBookingRepository.countBookingsByBooker_Id(userId, now));
+    }
+
+    @Override
+    public BookingStatsDto getBookingStatsByOwner(Long userId) {
+        checkIfUserExists(userId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return sum(bookingRepository.countBookingsByItemOwner(userId, now),
+                archivedBookingRepository.countBookingsByItemOwner(userId, now));
+    }
+
+    private Booking getAccessibleBooking(Long userId, Long bookingId) {
+        Booking booking = findBooking(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+        if (!booking.getItem().getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
+            throw new ForbiddenException("Пользователь не является влвдельцем вещи");
+        }
+        return booking;
+    }
+
+    private Optional<Booking> findBooking(Long bookingId) {
+        Optional<Booking> booking = bookingRepository.findBookingById(bookingId);
+        if (booking.isPresent()) {
+            return booking;
+        }
+        return archivedBookingRepository.findArchivedBookingById(bookingId).map(BookingMapper::toBooking);
+    }
+
+    private static List<BookingDto> mergePages(List<BookingDto> bookings, List<BookingDto> archivedBookings,
+                                               Limit limit) {
+        if (archivedBookings.isEmpty()) {
+            return bookings;
+        }
+        return Stream.concat(bookings.stream(), archivedBookings.stream())
+                .sorted(PAGE_ORDER)
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static BookingStatsDto sum(BookingStatsDto stats, BookingStatsDto archivedStats) {
+        return new BookingStatsDto(
+                stats.getAll() + archivedStats.getAll(),
+                stats.getCurrent() + archivedStats.getCurrent(),
+                stats.getPast() + archivedStats.getPast(),
+                stats.getFuture() + archivedStats.getFuture(),
+                stats.getWaiting() + archivedStats.getWaiting(),
+                stats.getRejected() + archivedStats.getRejected()
+        );
+    }
+
+    private int updateWaitingStatus(Long bookingId, Long ownerId, Status status) {
+        try {
+            return bookingRepository.updateWaitingStatus(bookingId, ownerId, status);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Вещь уже забронирована на пересекающийся период");
+        }
+    }
+
+    private static OutboxEventType statusChangedEvent(Status status) {
+        return status == Status.APPROVED ? OutboxEventType.BOOKING_APPROVED : OutboxEventType.BOOKING_REJECTED;
+    }
+
+    private int updateWaitingStatuses(List<Long> bookingIds, Long ownerId, Status status) {
+        try {
+            return bookingRepository.updateWaitingStatuses(bookingIds, ownerId, status);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Вещь уже забронирована на пересекающийся период");
+        }
+    }
+
+    private List<Long> resolveChangedBookings(List<Long> bookingIds, Status status, int updated,
+                                              Map<Long, String> errors, List<Long> accepted) {
+        Map<Long, Status> statuses = bookingRepository.findAllOwnershipsByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(BookingOwnershipDto::getBookingId, BookingOwnershipDto::getStatus));
+        List<Long> changed = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            Status current = statuses.get(bookingId);
+            if (current == status) {
+                changed.add(bookingId);
+            } else {
+                errors.put(bookingId, current == null ? "Бронирование не найдено" : "Бронирование уже рассмотрено");
+                accepted.remove(bookingId);
+            }
+        }
+        if (changed.size() != updated) {
+            throw new ConflictException("Бронирования рассматриваются параллельным запросом, повторите попытку");
+        }
+        return changed;
+    }
+
+    private void validateDecisions(List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new BadRequestException("Список решений по бронированиям не должен быть пустым");
+        }
+        if (decisions.size() > MAX_DECISIONS) {
+            throw new BadRequestException("За один запрос можно рассмотреть не более " + MAX_DECISIONS + " бронирований");
+        }
+        Set<Long> bookingIds = new HashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new BadRequestException("Решение должно содержать ид бронирования и признак подтверждения");
+            }
+            if (!bookingIds.add(decision.getBookingId())) {
+                throw new BadRequestException("Бронирование " + decision.getBookingId() + " указано несколько раз");
+            }
+        }
+    }
+
+    private BookingDto explainRejectedTransition(Long userId, Long bookingId, Status status) {
+        Booking booking = findBooking(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+        if (!booking.getItem().getOwner().getId().equals(userId)) {
+            throw new ForbiddenException("Пользователь не является влвдельцем вещи");
+        }
+        if (booking.getStatus() != status) {
+            throw new ConflictException("Бронирование уже рассмотрено");
+        }
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    private LocalDateTime cursorStart(BookingCursor cursor) {
+        validateCursor(cursor);
+        return cursor.getStart() != null ? cursor.getStart() : FIRST_PAGE_START;
+    }
+
+    private Long cursorId(BookingCursor cursor) {
+        return cursor.getId() != null ? cursor.getId() : Long.MAX_VALUE;
+    }
+
+    private void validateCursor(BookingCursor cursor) {
+        if (cursor.getSize() <= 0) {
+            throw new BadRequestException("Размер страницы должен быть положительным");
+        }
+        if ((cursor.getStart() == null) != (cursor.getId() == null)) {
+            throw new BadRequestException("Курсор страницы должен содержать дату начала и ид бронирования");
+        }
     }
 
     private void checkIfUserExists(Long id) {
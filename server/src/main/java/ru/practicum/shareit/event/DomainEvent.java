@@ -0,0 +1,18 @@
+package ru.practicum.shareit.event;
+
+import lombok.Getter;
+
+/**
+ * Ячейка кольцевого буфера {@link DomainEventBus}. Ячейки создаются один раз и переиспользуются,
+ * поэтому получатель не должен сохранять ссылку на событие после возврата из обработчика.
+ */
+@Getter
+public final class DomainEvent {
+    private DomainEventType type;
+    private long aggregateId;
+
+    void set(DomainEventType type, long aggregateId) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+    }
+}
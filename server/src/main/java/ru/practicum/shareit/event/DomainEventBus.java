@@ -0,0 +1,152 @@
+package ru.practicum.shareit.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Шина событий внутри JVM на кольцевом буфере с заранее созданными ячейками.
+ * Публикующие потоки занимают номер ячейки через CAS и не блокируются: если буфер заполнен,
+ * событие отбрасывается и учитывается в shareit.events.dropped. Номер обработанной ячейки
+ * пишет только поток шины, он же по порядку вызывает всех {@link DomainEventListener}.
+ * Без событий поток шины засыпает без таймаута, его будит первая следующая публикация.
+ * Если получателей нет, поток не запускается, а события никуда не пишутся.
+ */
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final DomainEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final List<DomainEventListener> listeners;
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+    private final Counter failedEvents;
+    private volatile boolean running;
+    private volatile boolean waiting;
+    private volatile Thread consumer;
+
+    @Autowired
+    public DomainEventBus(ObjectProvider<DomainEventListener> listeners,
+                          MeterRegistry meterRegistry,
+                          @Value("${shareit.events.buffer-size:4096}") int bufferSize) {
+        this(listeners.orderedStream().toList(), meterRegistry, bufferSize);
+    }
+
+    public DomainEventBus(List<DomainEventListener> listeners, MeterRegistry meterRegistry, int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Размер буфера событий должен быть степенью двойки");
+        }
+        this.slots = new DomainEvent[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new DomainEvent();
+            published.set(i, -1);
+        }
+        this.mask = bufferSize - 1;
+        this.listeners = listeners;
+        this.publishedEvents = meterRegistry.counter("shareit.events.published");
+        this.droppedEvents = meterRegistry.counter("shareit.events.dropped");
+        this.failedEvents = meterRegistry.counter("shareit.events.failed");
+        meterRegistry.gauge("shareit.events.backlog", this, DomainEventBus::backlog);
+    }
+
+    public boolean publish(DomainEventType type, long aggregateId) {
+        if (listeners.isEmpty()) {
+            return true;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                droppedEvents.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int index = (int) (sequence & mask);
+        slots[index].set(type, aggregateId);
+        published.set(index, sequence);
+        publishedEvents.increment();
+        if (waiting) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    public long backlog() {
+        return claimed.get() - consumed.get();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (listeners.isEmpty()) {
+            log.info("No domain event listeners registered, domain event bus is not started");
+            return;
+        }
+        running = true;
+        consumer = Thread.ofPlatform().name("domain-event-bus").daemon().start(this::consume);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (consumer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void consume() {
+        long next = consumed.get();
+        int idle = 0;
+        while (true) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                if (!running) {
+                    return;
+                }
+                if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                waiting = true;
+                if (published.get(index) != next && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+                continue;
+            }
+            idle = 0;
+            DomainEvent event = slots[index];
+            for (DomainEventListener listener : listeners) {
+                try {
+                    listener.onEvent(event);
+                } catch (RuntimeException e) {
+                    failedEvents.increment();
+                    log.warn("Domain event {} #{} was not handled by {}", event.getType(), event.getAggregateId(),
+                            listener.getClass().getSimpleName(), e);
+                }
+            }
+            next++;
+            consumed.lazySet(next);
+        }
+    }
+}
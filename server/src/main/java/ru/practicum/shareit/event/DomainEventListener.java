@@ -0,0 +1,10 @@
+package ru.practicum.shareit.event;
+
+/**
+ * Получатель событий {@link DomainEventBus}. Вызывается в потоке шины по порядку публикации,
+ * поэтому не должен блокироваться надолго.
+ */
+public interface DomainEventListener {
+
+    void onEvent(DomainEvent event);
+}
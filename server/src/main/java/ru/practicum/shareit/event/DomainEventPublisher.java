@@ -0,0 +1,63 @@
+package ru.practicum.shareit.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+
+/**
+ * Откладывает публикацию в {@link DomainEventBus} до фиксации текущей транзакции.
+ * События транзакции копятся в буфере потока, который переиспользуется между транзакциями,
+ * поэтому публикация не создает объектов на каждое событие.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private final DomainEventBus bus;
+    private final ThreadLocal<PendingEvents> pendingEvents = ThreadLocal.withInitial(PendingEvents::new);
+
+    public void publishAfterCommit(DomainEventType type, long aggregateId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bus.publish(type, aggregateId);
+            return;
+        }
+        PendingEvents pending = pendingEvents.get();
+        if (pending.size == 0) {
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(type, aggregateId);
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+        private DomainEventType[] types = new DomainEventType[16];
+        private long[] aggregateIds = new long[16];
+        private int size;
+
+        private void add(DomainEventType type, long aggregateId) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                aggregateIds = Arrays.copyOf(aggregateIds, size * 2);
+            }
+            types[size] = type;
+            aggregateIds[size] = aggregateId;
+            size++;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status == STATUS_COMMITTED) {
+                    for (int i = 0; i < size; i++) {
+                        bus.publish(types[i], aggregateIds[i]);
+                    }
+                }
+            } finally {
+                Arrays.fill(types, 0, size, null);
+                size = 0;
+            }
+        }
+    }
+}
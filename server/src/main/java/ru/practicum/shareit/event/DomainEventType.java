@@ -0,0 +1,7 @@
+package ru.practicum.shareit.event;
+
+public enum DomainEventType {
+    ITEM_CHANGED,
+    BOOKING_CHANGED,
+    USER_DELETED
+}
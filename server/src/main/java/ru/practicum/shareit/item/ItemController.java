@@ -1,14 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -37,14 +39,22 @@ public class ItemController {
         return itemService.getItemById(itemId);
     }
 
+    @GetMapping("/{itemId}/calendar")
+    public ItemCalendarDto getItemCalendar(@PathVariable Long itemId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemCalendar(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemCompleteDto> getOwnersItems(@RequestHeader(header) Long userId) {
         return itemService.getOwnersItems(userId);
     }
 
     @GetMapping("/search")
-    public List<Item> searchItemByNameOrDescription(@RequestParam("text") String text) {
-        return itemService.searchItemByNameOrDescription(text);
+    public List<ItemDto> searchItemByNameOrDescription(@RequestParam("text") String text,
+                                                       @RequestParam(name = "size", defaultValue = "100") Integer size) {
+        return itemService.searchItemByNameOrDescription(text, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
@@ -24,6 +25,16 @@ public class ItemMapper {
         );
     }
 
+    public static ItemDto toItemDto(ItemView itemView) {
+        return new ItemDto(
+                itemView.getId(),
+                itemView.getName(),
+                itemView.getDescription(),
+                itemView.getAvailable(),
+                itemView.getRequestId()
+        );
+    }
+
     public static Item toItem(ItemDto itemDto) {
         Item item = new Item();
         item.setId(itemDto.getId());
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Занятость вещи по часам в окне [from, to), закодированная длинами серий.
+ * Серии чередуются, начиная со свободной: [3, 2, 19] - три часа свободно, два занято, девятнадцать свободно.
+ * Час считается занятым, если его пересекает хотя бы одно подтвержденное бронирование.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemCalendarDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Long> runs;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Проекция вещи для поиска: читаются только колонки, которые попадают в ответ.
+ */
+public interface ItemView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
@@ -1,21 +1,50 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface JpaItemRepository extends JpaRepository<Item, Long> {
 
+    String SELECT_VIEW = "select i.id as id, i.name as name, i.description as description, " +
+            "i.available as available, i.request.id as requestId from Item as i ";
+
     List<Item> getItemsByOwnerId(Long userId);
 
-    @Query("select i " +
-            "from Item as i join fetch i.owner " +
+    @Query(SELECT_VIEW +
             "where i.available = true and " +
             "(upper(i.name) like upper(concat('%', ?1, '%') ) or " +
-            "upper(i.description) like upper(concat('%', ?1, '%') ))")
-    List<Item> searchItem(String text);
+            "upper(i.description) like upper(concat('%', ?1, '%') )) " +
+            "order by i.id")
+    List<ItemView> searchItem(String text, Limit limit);
+
+    @Query(SELECT_VIEW + "where i.id in :ids order by i.id")
+    List<ItemView> findItemViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.is_available AS available, i.request_id AS \"requestId\" FROM items i " +
+            "WHERE i.is_available " +
+            "AND (lower(i.name) LIKE '%' || lower(:text) || '%' " +
+            "OR lower(i.description) LIKE '%' || lower(:text) || '%') " +
+            "ORDER BY greatest(word_similarity(lower(:text), lower(i.name)), " +
+            "word_similarity(lower(:text), lower(i.description))) DESC, i.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ItemView> searchItemByTrigrams(@Param("text") String text, @Param("limit") int limit);
+
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.is_available AS available, i.request_id AS \"requestId\" FROM items i " +
+            "WHERE i.is_available " +
+            "AND (lower(i.name) LIKE '%' || lower(:text) || '%' " +
+            "OR lower(i.description) LIKE '%' || lower(:text) || '%') " +
+            "ORDER BY i.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ItemView> searchItemBySubstring(@Param("text") String text, @Param("limit") int limit);
 
     List<Item> getItemsByRequestId(Long requestId);
 }
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Поиск по инвертированному индексу в памяти процесса.
+ * Индекс строится до запуска веб-сервера, изменения попадают в него только после фиксации транзакции.
+ * Изменения, зафиксированные во время перестроения, повторно применяются к новому индексу перед подменой.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final JpaItemRepository jpaItemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    private List<DocumentUpdate> updatesDuringRebuild;
+
+    @Override
+    public List<ItemView> search(String text, int limit) {
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(text, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jpaItemRepository.findItemViewsByIdIn(ids);
+    }
+
+    @Override
+    public void index(Item item) {
+        DocumentUpdate update = new DocumentUpdate(item.getId(),
+                TrigramIndex.Document.of(item.getName(), item.getDescription(), item.getAvailable()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TrigramIndex rebuilt = new TrigramIndex();
+        Page<Item> page = jpaItemRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (Item item : page) {
+                rebuilt.put(item.getId(),
+                        TrigramIndex.Document.of(item.getName(), item.getDescription(), item.getAvailable()));
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = jpaItemRepository.findAll(page.nextPageable());
+        }
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild.forEach(update -> rebuilt.put(update.itemId(), update.document()));
+            updatesDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt, {} available items indexed", rebuilt.size());
+    }
+
+    private void apply(DocumentUpdate update) {
+        lock.writeLock().lock();
+        try {
+            index.put(update.itemId(), update.document());
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record DocumentUpdate(long itemId, TrigramIndex.Document document) {
+    }
+}
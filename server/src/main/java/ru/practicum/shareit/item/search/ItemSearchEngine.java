@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<ItemView> search(String text, int limit);
+
+    default void index(Item item) {
+    }
+}
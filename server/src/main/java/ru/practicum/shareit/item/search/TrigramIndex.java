@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Инвертированный индекс по триграммам названия и описания доступных вещей.
+ * Поиск подстроки пересекает списки вещей для каждой триграммы запроса и проверяет только найденных кандидатов.
+ * Для запросов короче триграммы в индекс также попадают все символы и биграммы: их список вещей уже точный,
+ * поэтому он обходится в порядке ид до limit без проверки текста.
+ */
+class TrigramIndex {
+
+    private static final int GRAM = 3;
+    private static final int CHAR_BITS = 16;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    Document put(long id, Document document) {
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            for (long gram : previous.grams()) {
+                PostingList list = postings.get(gram);
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        if (document != null && document.available()) {
+            documents.put(id, document);
+            for (long gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+            }
+        }
+        return previous;
+    }
+
+    List<Long> search(String text, int limit) {
+        String query = normalize(text);
+        List<Long> result = new ArrayList<>();
+        if (query.isEmpty()) {
+            return result;
+        }
+        if (query.length() < GRAM) {
+            PostingList list = postings.get(gram(query, 0, query.length()));
+            for (int i = 0; list != null && i < list.size() && result.size() < limit; i++) {
+                result.add(list.get(i));
+            }
+            return result;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(query)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return result;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList smallest = lists.get(0);
+        for (int i = 0; i < smallest.size() && result.size() < limit; i++) {
+            long id = smallest.get(i);
+            if (containsInAll(lists, id) && documents.get(id).matches(query)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<Long> trigrams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(gram(text, i, GRAM));
+        }
+        return result;
+    }
+
+    static Set<Long> grams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            for (int length = 1; length <= GRAM && i + length <= text.length(); length++) {
+                result.add(gram(text, i, length));
+            }
+        }
+        return result;
+    }
+
+    private static long gram(String text, int from, int length) {
+        long gram = length;
+        for (int i = from; i < from + length; i++) {
+            gram = (gram << CHAR_BITS) | text.charAt(i);
+        }
+        return gram;
+    }
+
+    record Document(String name, String description, boolean available) {
+
+        static Document of(String name, String description, Boolean available) {
+            return new Document(normalize(name), normalize(description), Boolean.TRUE.equals(available));
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<Long> grams() {
+            Set<Long> result = TrigramIndex.grams(name);
+            result.addAll(TrigramIndex.grams(description));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск средствами PostgreSQL: подстрока ищется по GIN-индексам pg_trgm из schema-postgresql.sql,
+ * результаты упорядочены по похожести на запрос. Запрос короче трех символов не содержит ни одной триграммы,
+ * индекс не сужает выборку, поэтому такие результаты отдаются в порядке ид, чтобы LIMIT останавливал обход.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    private static final int MIN_RANKED_LENGTH = 3;
+
+    private final JpaItemRepository jpaItemRepository;
+
+    @Override
+    public List<ItemView> search(String text, int limit) {
+        if (text.length() < MIN_RANKED_LENGTH) {
+            return jpaItemRepository.searchItemBySubstring(text, limit);
+        }
+        return jpaItemRepository.searchItemByTrigrams(text, limit);
+    }
+}
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -18,7 +20,9 @@ public interface ItemService {
 
     List<ItemCompleteDto> getOwnersItems(Long userId);
 
-    List<Item> searchItemByNameOrDescription(String text);
+    List<ItemDto> searchItemByNameOrDescription(String text, int size);
 
     CommentDto postComment(Long userId, Long itemId, CommentCreateDto commentCreateDto);
+
+    ItemCalendarDto getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to);
 }
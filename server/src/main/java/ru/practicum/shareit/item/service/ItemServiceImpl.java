@@ -2,53 +2,74 @@ package ru.practicum.shareit.item.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaCommentRepository;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.JpaItemRequestRepository;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.JpaUserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final Duration MAX_CALENDAR_PERIOD = Duration.ofDays(366);
+
     private final JpaItemRepository jpaItemRepository;
     private final UserService userService;
-    private final JpaUserRepository jpaUserRepository;
     private final JpaCommentRepository jpaCommentRepository;
     private final JpaBookingRepository jpaBookingRepository;
+    private final JpaArchivedBookingRepository jpaArchivedBookingRepository;
     private final JpaItemRequestRepository jpaItemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingAvailability bookingAvailability;
+    private final OutboxPublisher outboxPublisher;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Transactional
     @Override
     public ItemDto createItem(Long userId, ItemDto item) {
-        jpaUserRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
         User us = UserMapper.toUser(userService.getUserById(userId));
         Item dtoToModelOfItem = ItemMapper.toItem(item);
         dtoToModelOfItem.setOwner(us);
@@ -58,11 +79,19 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException("Запрос не найден"));
             dtoToModelOfItem.setRequest(request);
         }
-        return ItemMapper.toItemDto(jpaItemRepository.save(dtoToModelOfItem));
+        Item savedItem = jpaItemRepository.save(dtoToModelOfItem);
+        itemSearchEngine.index(savedItem);
+        ItemDto created = ItemMapper.toItemDto(savedItem);
+        outboxPublisher.publish(OutboxEventType.ITEM_CREATED, created.getId(), created);
+        domainEventPublisher.publishAfterCommit(DomainEventType.ITEM_CHANGED, created.getId());
+        return created;
     }
 
     @Transactional
     @Override
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff:20}", multiplier = 2, random = true))
     public ItemDto updateItem(Long userId, Long itemId, ItemDto item) {
         Item updatedItem = jpaItemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с указанным ид не найдена"));
@@ -78,58 +107,35 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             updatedItem.setAvailable(item.getAvailable());
         }
-        return ItemMapper.toItemDto(jpaItemRepository.save(updatedItem));
+        Item savedItem = jpaItemRepository.saveAndFlush(updatedItem);
+        itemSearchEngine.index(savedItem);
+        domainEventPublisher.publishAfterCommit(DomainEventType.ITEM_CHANGED, itemId);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
     public ItemCompleteDto getItemById(Long itemId) {
         Item item = jpaItemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с указанным ид не найдена"));
-
-        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
-
-        Booking lastBookingEntity = jpaBookingRepository.findLastBookingByItem_Id(itemId, now);
-        BookingDto lastBooking = (lastBookingEntity != null) ? BookingMapper.toBookingDto(lastBookingEntity) : null;
-
-        Booking nextBookingEntity = jpaBookingRepository.findNextBookingByItem_Id(itemId, now);
-        BookingDto nextBooking = (nextBookingEntity != null) ? BookingMapper.toBookingDto(nextBookingEntity) : null;
-
-        List<CommentDto> commentDtos = jpaCommentRepository.findAllByItem_Id(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
-
-        return ItemMapper.toCompleteItem(item, lastBooking, nextBooking, commentDtos);
-
+        return toCompleteItems(List.of(item)).get(0);
     }
 
     @Override
     public List<ItemCompleteDto> getOwnersItems(Long userId) {
-        List<Item> items = jpaItemRepository.getItemsByOwnerId(userId);
-        List<ItemCompleteDto> completeItems = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
-
-        for (Item item : items) {
-            Booking lastBookingEntity = jpaBookingRepository.findLastBookingByItem_Id(item.getId(), now);
-            BookingDto lastBooking = (lastBookingEntity != null) ? BookingMapper.toBookingDto(lastBookingEntity) : null;
-
-            Booking nextBookingEntity = jpaBookingRepository.findNextBookingByItem_Id(item.getId(), now);
-            BookingDto nextBooking = (nextBookingEntity != null) ? BookingMapper.toBookingDto(nextBookingEntity) : null;
-
-            List<Comment> comments = jpaCommentRepository.findAllByItem_Id(item.getId());
-            List<CommentDto> commentDtos = comments.stream()
-                    .map(CommentMapper::toCommentDto)
-                    .collect(Collectors.toList());
-            completeItems.add(ItemMapper.toCompleteItem(item, lastBooking, nextBooking, commentDtos));
-        }
-        return completeItems;
+        return toCompleteItems(jpaItemRepository.getItemsByOwnerId(userId));
     }
 
     @Override
-    public List<Item> searchItemByNameOrDescription(String text) {
+    public List<ItemDto> searchItemByNameOrDescription(String text, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Размер выборки должен быть положительным");
+        }
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        return jpaItemRepository.searchItem(text);
+        return itemSearchEngine.search(text, size).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -140,13 +146,97 @@ public class ItemServiceImpl implements ItemService {
         Item item = jpaItemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с указанным ид не найдена"));
         List<Booking> bookings = jpaBookingRepository.findAllByBooker_IdAndItem_IdAndStatusAndEndBefore(userId, itemId, Status.APPROVED, now);
-        if (bookings.isEmpty()) {
+        if (bookings.isEmpty()
+                && !jpaArchivedBookingRepository.existsByBooker_IdAndItem_IdAndStatus(userId, itemId, Status.APPROVED)) {
             throw new BadRequestException("Вещь не была в бронировании у пользователея");
         }
         Comment comment = CommentMapper.toComment(commentCreateDto);
         comment.setUser(user);
         comment.setItem(item);
         comment.setCreated(LocalDateTime.now());
-        return CommentMapper.toCommentDto(jpaCommentRepository.save(comment));
+        CommentDto posted = CommentMapper.toCommentDto(jpaCommentRepository.save(comment));
+        outboxPublisher.publish(OutboxEventType.COMMENT_POSTED, posted.getId(), posted);
+        return posted;
+    }
+
+    @Override
+    public ItemCalendarDto getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("Начало периода календаря должно быть раньше окончания");
+        }
+        if (Duration.between(from, to).compareTo(MAX_CALENDAR_PERIOD) > 0) {
+            throw new BadRequestException("Период календаря не должен превышать " + MAX_CALENDAR_PERIOD.toDays() + " дней");
+        }
+        if (!jpaItemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь с указанным ид не найдена");
+        }
+        LocalDateTime windowStart = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime windowEnd = to.truncatedTo(ChronoUnit.HOURS).equals(to) ? to
+                : to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        List<Booking> bookings = new ArrayList<>(jpaArchivedBookingRepository
+                .findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(itemId, Status.APPROVED, windowEnd,
+                        windowStart).stream()
+                .map(BookingMapper::toBooking)
+                .toList());
+        bookings.addAll(jpaBookingRepository.findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(
+                itemId, Status.APPROVED, windowEnd, windowStart));
+        bookings.sort(Comparator.comparing(Booking::getStart));
+        return new ItemCalendarDto(itemId, windowStart, windowEnd, toHourRuns(windowStart, windowEnd, bookings));
+    }
+
+    private static List<Long> toHourRuns(LocalDateTime windowStart, LocalDateTime windowEnd, List<Booking> bookings) {
+        long hours = Duration.between(windowStart, windowEnd).toHours();
+        long hourNanos = Duration.ofHours(1).toNanos();
+        List<Long> runs = new ArrayList<>();
+        long cursor = 0;
+        for (Booking booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(windowStart) ? windowStart : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(windowEnd) ? windowEnd : booking.getEnd();
+            long busyFrom = Duration.between(windowStart, start).toNanos() / hourNanos;
+            long busyTo = Math.ceilDiv(Duration.between(windowStart, end).toNanos(), hourNanos);
+            if (busyTo <= cursor) {
+                continue;
+            }
+            if (runs.isEmpty() || busyFrom > cursor) {
+                runs.add(busyFrom - cursor);
+                runs.add(busyTo - busyFrom);
+            } else {
+                runs.set(runs.size() - 1, runs.get(runs.size() - 1) + busyTo - cursor);
+            }
+            cursor = busyTo;
+        }
+        if (cursor < hours) {
+            runs.add(hours - cursor);
+        }
+        return runs;
+    }
+
+    private List<ItemCompleteDto> toCompleteItems(List<Item> items) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Map<Long, Long> lastBookingIds = bookingAvailability.lastBookingIds(itemIds, now);
+        Map<Long, Long> nextBookingIds = bookingAvailability.nextBookingIds(itemIds, now);
+        Set<Long> bookingIds = new HashSet<>(lastBookingIds.values());
+        bookingIds.addAll(nextBookingIds.values());
+        Map<Long, BookingDto> bookings = bookingIds.isEmpty() ? new HashMap<>()
+                : jpaBookingRepository.findAllBookingDtosByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(BookingDto::getId, Function.identity()));
+
+        Map<Long, List<CommentDto>> comments = jpaCommentRepository.findAllByItem_IdIn(itemIds).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+
+        return items.stream()
+                .map(item -> ItemMapper.toCompleteItem(item,
+                        bookings.get(lastBookingIds.get(item.getId())),
+                        bookings.get(nextBookingIds.get(item.getId())),
+                        comments.getOrDefault(item.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class LoggingOutboxConsumer implements OutboxConsumer {
+
+    @Override
+    public void accept(List<OutboxEvent> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("Outbox event {} {} {}#{}: {}", event.getId(), event.getType(),
+                    event.getAggregateType(), event.getAggregateId(), event.getPayload()));
+        }
+    }
+}
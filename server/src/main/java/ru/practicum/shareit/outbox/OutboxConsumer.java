@@ -0,0 +1,13 @@
+package ru.practicum.shareit.outbox;
+
+import java.util.List;
+
+/**
+ * Получатель событий outbox внутри сервера. Доставка выполняется не менее одного раза:
+ * если получатель или фиксация транзакции ретранслятора завершились ошибкой, пачка будет доставлена повторно,
+ * поэтому получатель должен быть идемпотентным по {@link OutboxEvent#getId()}.
+ */
+public interface OutboxConsumer {
+
+    void accept(List<OutboxEvent> events);
+}
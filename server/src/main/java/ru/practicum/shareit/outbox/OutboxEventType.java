@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    BOOKING_CREATED("booking"),
+    BOOKING_APPROVED("booking"),
+    BOOKING_REJECTED("booking"),
+    ITEM_CREATED("item"),
+    COMMENT_POSTED("comment");
+
+    private final String aggregateType;
+}
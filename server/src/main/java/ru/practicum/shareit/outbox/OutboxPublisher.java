@@ -0,0 +1,30 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.repository.JpaOutboxRepository;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final JpaOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publish(OutboxEventType type, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие " + type, e);
+        }
+        outboxRepository.save(new OutboxEvent(null, type.getAggregateType(), aggregateId, type, json,
+                LocalDateTime.now()));
+    }
+}
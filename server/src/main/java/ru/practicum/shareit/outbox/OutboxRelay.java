@@ -0,0 +1,84 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.outbox.repository.JpaOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Передает события из outbox получателям {@link OutboxConsumer}. Пачка выбирается с FOR UPDATE SKIP LOCKED,
+ * поэтому несколько экземпляров сервера разбирают outbox параллельно, не блокируя друг друга;
+ * доставленная пачка удаляется в той же транзакции.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final JpaOutboxRepository outboxRepository;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer lag;
+
+    public OutboxRelay(JpaOutboxRepository outboxRepository,
+                       ObjectProvider<OutboxConsumer> consumers,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${shareit.outbox.batch-size:200}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.consumers = consumers.orderedStream().toList();
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.relayed = meterRegistry.counter("shareit.outbox.relayed");
+        this.failures = meterRegistry.counter("shareit.outbox.failures");
+        this.lag = meterRegistry.timer("shareit.outbox.lag");
+    }
+
+    @Scheduled(initialDelayString = "${shareit.outbox.poll-interval:PT1S}",
+            fixedDelayString = "${shareit.outbox.poll-interval:PT1S}")
+    public void relayPending() {
+        List<OutboxEvent> batch;
+        do {
+            batch = relayBatch();
+        } while (batch.size() == batchSize);
+    }
+
+    public List<OutboxEvent> relayBatch() {
+        List<OutboxEvent> events;
+        try {
+            events = transactionTemplate.execute(status -> {
+                List<OutboxEvent> batch = outboxRepository.findNextBatch(Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    return batch;
+                }
+                consumers.forEach(consumer -> consumer.accept(batch));
+                outboxRepository.deleteAllByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+                return batch;
+            });
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox batch was not relayed and will be retried", e);
+            return List.of();
+        }
+        if (events == null || events.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        relayed.increment(events.size());
+        return events;
+    }
+}
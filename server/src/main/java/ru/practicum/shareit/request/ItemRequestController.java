@@ -20,7 +20,7 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @PostMapping
-    public ItemRequest createItemRequest(@RequestHeader(header) Long userId, @RequestBody ItemRequestDto itemRequestDto) {
+    public ItemRequestDto createItemRequest(@RequestHeader(header) Long userId, @RequestBody ItemRequestDto itemRequestDto) {
         return itemRequestService.createItemRequest(userId, itemRequestDto);
     }
 
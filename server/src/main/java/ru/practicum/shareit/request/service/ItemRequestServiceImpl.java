@@ -29,14 +29,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Transactional
     @Override
-    public ItemRequest createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+    public ItemRequestDto createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         User user = checkOrGetIfUserExists(userId);
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setDescription(itemRequestDto.getDescription());
         itemRequest.setRequester(user);
         itemRequest.setCreated(now);
-        return itemRequestRepository.save(itemRequest);
+        return ItemRequestMapper.toDto(itemRequestRepository.save(itemRequest));
     }
 
     @Override
@@ -20,4 +20,8 @@ public class User {
 
     @Column(name = "email", nullable = false)
     private String email;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 }
@@ -2,7 +2,15 @@ package ru.practicum.shareit.user.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.UserMapper;
@@ -15,22 +23,27 @@ import ru.practicum.shareit.user.repository.JpaUserRepository;
 public class UserServiceImpl implements UserService {
 
     private final JpaUserRepository jpaUserRepository;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Transactional
     @Override
     public UserDto createUser(UserDto user) {
-        if (checkEmail(user.getEmail()) != null) {
+        if (jpaUserRepository.existsByEmail(user.getEmail())) {
             throw new ConflictException("Существующий емайл");
         }
         User dtoToModelOfUser = UserMapper.toUser(user);
-        return UserMapper.toUserDto(jpaUserRepository.save(dtoToModelOfUser));
+        return UserMapper.toUserDto(saveUniqueEmail(dtoToModelOfUser));
     }
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = "users", key = "#id")
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.optimistic-lock.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${shareit.optimistic-lock.backoff:20}", multiplier = 2, random = true))
     public UserDto updateUser(Long id, UserDto user) {
         checkUser(id);
-        if (checkEmail(user.getEmail()) != null) {
+        if (user.getEmail() != null && jpaUserRepository.existsByEmailAndIdNot(user.getEmail(), id)) {
             throw new ConflictException("Существующий емайл");
         }
         User updatedUser = jpaUserRepository.getById(id);
@@ -40,30 +53,35 @@ public class UserServiceImpl implements UserService {
         if (user.getEmail() != null) {
             updatedUser.setEmail(user.getEmail());
         }
-        jpaUserRepository.save(updatedUser);
+        saveUniqueEmail(updatedUser);
         return UserMapper.toUserDto(updatedUser);
     }
 
     @Override
+    @Cacheable(cacheNames = "users", key = "#id")
     public UserDto getUserById(Long id) {
         User user = jpaUserRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
         return UserMapper.toUserDto(user);
     }
 
+    @Transactional
     @Override
+    @CacheEvict(cacheNames = "users", key = "#id")
     public UserDto deleteUserById(Long id) {
         checkUser(id);
         User user = jpaUserRepository.getById(id);
         jpaUserRepository.deleteById(id);
+        domainEventPublisher.publishAfterCommit(DomainEventType.USER_DELETED, id);
         return UserMapper.toUserDto(user);
     }
 
-    private User checkEmail(String email) {
-        return jpaUserRepository.findAll().stream()
-                .filter(userDto -> userDto.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+    private User saveUniqueEmail(User user) {
+        try {
+            return jpaUserRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Существующий емайл");
+        }
     }
 
     private void checkUser(Long id) {
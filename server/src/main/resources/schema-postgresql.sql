@@ -0,0 +1,21 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items
+    USING gin (lower(name) gin_trgm_ops) WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items
+    USING gin (lower(description) gin_trgm_ops) WHERE is_available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_waiting ON bookings (booker_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_waiting ON bookings (item_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_waiting ON bookings (owner_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
@@ -1,12 +1,15 @@
    drop table IF EXISTS items CASCADE;
    drop table IF EXISTS users CASCADE;
    drop table IF EXISTS bookings CASCADE;
+   drop table IF EXISTS bookings_archive CASCADE;
    drop table IF EXISTS comments CASCADE;
    drop table IF EXISTS requests CASCADE;
+   drop table IF EXISTS outbox CASCADE;
 create TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     constraint uq_user_email unique (email)
 );
 
@@ -26,6 +29,7 @@ create TABLE IF NOT EXISTS items (
     is_available BOOLEAN,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
 CONSTRAINT fk_items_owner_id FOREIGN KEY(owner_id)
     REFERENCES users(id),
 CONSTRAINT fk_items_request_id FOREIGN KEY(request_id)
@@ -37,14 +41,35 @@ id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
 start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
 item_id BIGINT NOT NULL,
+owner_id BIGINT NOT NULL,
 booker_id BIGINT NOT NULL,
 status VARCHAR(255),
+version BIGINT NOT NULL DEFAULT 0,
 CONSTRAINT fk_bookings_item_id FOREIGN KEY(item_id)
     REFERENCES items(id),
+CONSTRAINT fk_bookings_owner_id FOREIGN KEY(owner_id)
+    REFERENCES users(id),
 CONSTRAINT fk_bookings_booker_id FOREIGN KEY(booker_id)
     REFERENCES users(id)
 );
 
+create TABLE IF NOT EXISTS bookings_archive (
+id BIGINT PRIMARY KEY NOT NULL,
+start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+item_id BIGINT NOT NULL,
+owner_id BIGINT NOT NULL,
+booker_id BIGINT NOT NULL,
+status VARCHAR(255),
+version BIGINT NOT NULL DEFAULT 0,
+CONSTRAINT fk_bookings_archive_item_id FOREIGN KEY(item_id)
+    REFERENCES items(id),
+CONSTRAINT fk_bookings_archive_owner_id FOREIGN KEY(owner_id)
+    REFERENCES users(id),
+CONSTRAINT fk_bookings_archive_booker_id FOREIGN KEY(booker_id)
+    REFERENCES users(id)
+);
+
 create TABLE IF NOT EXISTS comments (
 id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
 text VARCHAR(1024) NOT NULL,
@@ -58,3 +83,22 @@ CONSTRAINT fk_comments_author_id FOREIGN KEY(author_id)
 );
 
 
+
+create TABLE IF NOT EXISTS outbox (
+id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+aggregate_type VARCHAR(32) NOT NULL,
+aggregate_id BIGINT NOT NULL,
+event_type VARCHAR(64) NOT NULL,
+payload VARCHAR(8192) NOT NULL,
+created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_end ON bookings (booker_id, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_end ON bookings (owner_id, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_owner_start ON bookings_archive (owner_id, start_date DESC, id DESC);
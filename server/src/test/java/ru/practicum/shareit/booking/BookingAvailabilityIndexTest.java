@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingAvailabilityIndexTest {
+
+    @Mock
+    private JpaBookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingAvailabilityIndex index;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isFree_ShouldConsiderOnlyApprovedBookings() {
+        index.index(booking(1L, 1L, now.plusHours(10), now.plusHours(20), Status.APPROVED));
+        index.index(booking(2L, 1L, now.plusHours(30), now.plusHours(40), Status.WAITING));
+
+        assertFalse(index.isFree(1L, now.plusHours(15), now.plusHours(16)));
+        assertFalse(index.isFree(1L, now.plusHours(5), now.plusHours(11)));
+        assertTrue(index.isFree(1L, now.plusHours(20), now.plusHours(30)));
+        assertTrue(index.isFree(1L, now.plusHours(31), now.plusHours(35)));
+        assertTrue(index.isFree(2L, now.plusHours(15), now.plusHours(16)));
+    }
+
+    @Test
+    void isFree_ShouldSeeLongBookingThatStartedEarlier() {
+        index.index(booking(1L, 1L, now.plusHours(1), now.plusHours(100), Status.APPROVED));
+        index.index(booking(2L, 1L, now.plusHours(2), now.plusHours(3), Status.APPROVED));
+        index.index(booking(3L, 1L, now.plusHours(4), now.plusHours(5), Status.APPROVED));
+
+        assertFalse(index.isFree(1L, now.plusHours(50), now.plusHours(60)));
+        assertTrue(index.isFree(1L, now.plusHours(100), now.plusHours(101)));
+    }
+
+    @Test
+    void nextFreeSlot_ShouldSkipChainOfApprovedBookings() {
+        index.index(booking(1L, 1L, now.plusHours(10), now.plusHours(20), Status.APPROVED));
+        index.index(booking(2L, 1L, now.plusHours(21), now.plusHours(30), Status.APPROVED));
+        index.index(booking(3L, 1L, now.plusHours(40), now.plusHours(50), Status.APPROVED));
+
+        assertEquals(now, index.nextFreeSlot(1L, now, Duration.ofHours(10)));
+        assertEquals(now.plusHours(30), index.nextFreeSlot(1L, now.plusHours(12), Duration.ofHours(5)));
+        assertEquals(now.plusHours(50), index.nextFreeSlot(1L, now.plusHours(12), Duration.ofHours(11)));
+    }
+
+    @Test
+    void lastAndNextBooking_ShouldFollowStatusChanges() {
+        Booking current = booking(1L, 1L, now.minusHours(1), now.plusHours(5), Status.WAITING);
+        Booking future = booking(2L, 1L, now.plusHours(10), now.plusHours(20), Status.WAITING);
+        index.index(current);
+        index.index(future);
+
+        assertEquals(2L, index.lastBookingId(1L, now));
+        assertEquals(2L, index.nextBookingId(1L, now));
+
+        future.setStatus(Status.REJECTED);
+        index.index(future);
+
+        assertEquals(1L, index.lastBookingId(1L, now));
+        assertNull(index.nextBookingId(1L, now));
+        assertNull(index.lastBookingId(2L, now));
+    }
+
+    @Test
+    void index_ShouldApplyChangeOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(booking(1L, 1L, now.plusHours(10), now.plusHours(20), Status.APPROVED));
+
+        assertTrue(index.isFree(1L, now.plusHours(15), now.plusHours(16)));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(index.isFree(1L, now.plusHours(15), now.plusHours(16)));
+    }
+
+    @Test
+    void index_ShouldDropChangeOfRolledBackTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(booking(1L, 1L, now.plusHours(10), now.plusHours(20), Status.APPROVED));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertTrue(index.isFree(1L, now.plusHours(15), now.plusHours(16)));
+        assertNull(index.nextBookingId(1L, now));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesCommittedWhileLoading() {
+        when(bookingRepository.findAllByStatusInAndEndAfter(anyCollection(), any(LocalDateTime.class),
+                any(Pageable.class))).thenAnswer(invocation -> {
+                    index.index(booking(2L, 2L, now.plusHours(10), now.plusHours(20), Status.APPROVED));
+                    Pageable pageable = invocation.getArgument(2);
+                    return new PageImpl<>(List.of(booking(1L, 1L, now.plusHours(1), now.plusHours(2),
+                            Status.APPROVED)), pageable, 1);
+                });
+
+        index.rebuild();
+
+        assertEquals(1L, index.nextBookingId(1L, now));
+        assertEquals(2L, index.nextBookingId(2L, now));
+    }
+
+    @Test
+    void rebuild_ShouldLoadNotFinishedBookingsPageByPage() {
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            bookings.add(booking(id, id % 3, now.plusHours(id), now.plusHours(id + 1), Status.APPROVED));
+        }
+        when(bookingRepository.findAllByStatusInAndEndAfter(anyCollection(), any(LocalDateTime.class),
+                any(Pageable.class))).thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    int from = (int) pageable.getOffset();
+                    int to = Math.min(from + pageable.getPageSize(), bookings.size());
+                    return new PageImpl<>(bookings.subList(from, to), pageable, bookings.size());
+                });
+
+        index.rebuild();
+
+        assertEquals(1L, index.nextBookingId(1L, now));
+        assertEquals(1498L, index.lastBookingId(1L, now));
+        assertFalse(index.isFree(0L, now.plusHours(1200), now.plusHours(1201)));
+        verify(bookingRepository).findAllByStatusInAndEndAfter(anyCollection(), any(LocalDateTime.class),
+                eq(PageRequest.of(1, 1000, Sort.by("id"))));
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end, Status status) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -10,12 +10,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -25,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -43,21 +48,16 @@ public class BookingControllerTest {
     private MockMvc mockMvc;
 
     private ObjectMapper objectMapper = new ObjectMapper();
-    private User user;
-    private Item item;
+    private UserShortDto user;
+    private ItemShortDto item;
     private Status status;
 
     @BeforeEach
     public void setUp() {
         this.mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
 
-        user = new User(1L, "Mike", "mike@ya.ru");
-        item = new Item();
-        item.setId(1L);
-        item.setName("item name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
+        user = new UserShortDto(1L, "Mike");
+        item = new ItemShortDto(1L, "item name");
         status = Status.APPROVED;
     }
 
@@ -111,20 +111,38 @@ public class BookingControllerTest {
         verify(bookingService).bookingApproving(eq(userId), eq(bookingId), eq(approved));
     }
 
+    @Test
+    void bookingApprovingBatch_ShouldPassDecisions_AndCheckResponseStatus() throws Exception {
+        Long userId = 1L;
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        when(bookingService.bookingApprovingBatch(userId, decisions)).thenReturn(List.of(
+                new BookingDecisionResultDto(1L, null, null),
+                new BookingDecisionResultDto(2L, null, "Бронирование уже рассмотрено")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk());
+
+        verify(bookingService).bookingApprovingBatch(userId, decisions);
+    }
+
     @Test
     void getAllBookings_ShouldReturnBookings_AndCheckResponseStatus() throws Exception {
         Long userId = 1L;
         List<BookingDto> bookings = Collections.singletonList(new BookingDto(1L, LocalDateTime.now(),
                 LocalDateTime.now().plusDays(1), item, user, Status.APPROVED));
 
-        when(bookingService.getAllBookings(eq(userId), any(BookingState.class))).thenReturn(bookings);
+        when(bookingService.getAllBookings(eq(userId), any(BookingState.class), any(BookingCursor.class))).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", userId)
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
 
-        verify(bookingService).getAllBookings(eq(userId), any(BookingState.class));
+        verify(bookingService).getAllBookings(eq(userId), any(BookingState.class), any(BookingCursor.class));
     }
 
     @Test
@@ -133,13 +151,29 @@ public class BookingControllerTest {
         List<BookingDto> bookings = Collections.singletonList(new BookingDto(1L, LocalDateTime.now(),
                 LocalDateTime.now().plusDays(1), item, user, Status.APPROVED));
 
-        when(bookingService.getAllBookingsByOwner(eq(userId), any(BookingState.class))).thenReturn(bookings);
+        when(bookingService.getAllBookingsByOwner(eq(userId), any(BookingState.class), any(BookingCursor.class))).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", userId)
                         .param("state", "ALL"))
                 .andExpect(status().isOk());
 
-        verify(bookingService).getAllBookingsByOwner(eq(userId), any(BookingState.class));
+        verify(bookingService).getAllBookingsByOwner(eq(userId), any(BookingState.class), any(BookingCursor.class));
+    }
+
+    @Test
+    void getBookingStatsByOwner_ShouldReturnCounts_AndCheckResponseStatus() throws Exception {
+        Long userId = 1L;
+        BookingStatsDto stats = new BookingStatsDto(4L, 1L, 2L, 1L, 2L, 1L);
+
+        when(bookingService.getBookingStatsByOwner(userId)).thenReturn(stats);
+
+        String response = mockMvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(stats, objectMapper.readValue(response, BookingStatsDto.class));
+        verify(bookingService).getBookingStatsByOwner(userId);
     }
 }
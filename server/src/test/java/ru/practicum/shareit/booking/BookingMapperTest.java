@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -17,8 +21,8 @@ public class BookingMapperTest {
         booking.setId(1L);
         booking.setStart(LocalDateTime.now().plusDays(1));
         booking.setEnd(LocalDateTime.now().plusDays(2));
-        booking.setItem(new Item());
-        booking.setBooker(new User());
+        booking.setItem(new Item(2L, "item", "description", true, null, null, 0L));
+        booking.setBooker(new User(3L, "booker", "booker@ya.ru", 0L));
         booking.setStatus(Status.APPROVED);
 
         BookingDto bookingDto = BookingMapper.toBookingDto(booking);
@@ -27,8 +31,8 @@ public class BookingMapperTest {
         assertThat(bookingDto.getId()).isEqualTo(booking.getId());
         assertThat(bookingDto.getStart()).isEqualTo(booking.getStart());
         assertThat(bookingDto.getEnd()).isEqualTo(booking.getEnd());
-        assertThat(bookingDto.getItem()).isEqualTo(booking.getItem());
-        assertThat(bookingDto.getBooker()).isEqualTo(booking.getBooker());
+        assertThat(bookingDto.getItem()).isEqualTo(new ItemShortDto(2L, "item"));
+        assertThat(bookingDto.getBooker()).isEqualTo(new UserShortDto(3L, "booker"));
         assertThat(bookingDto.getStatus()).isEqualTo(booking.getStatus());
     }
 
@@ -38,8 +42,8 @@ public class BookingMapperTest {
         bookingDto.setId(1L);
         bookingDto.setStart(LocalDateTime.now().plusDays(1));
         bookingDto.setEnd(LocalDateTime.now().plusDays(2));
-        bookingDto.setItem(new Item());
-        bookingDto.setBooker(new User());
+        bookingDto.setItem(new ItemShortDto(2L, "item"));
+        bookingDto.setBooker(new UserShortDto(3L, "booker"));
         bookingDto.setStatus(Status.APPROVED);
 
         Booking booking = BookingMapper.toBooking(bookingDto);
@@ -48,8 +52,24 @@ public class BookingMapperTest {
         assertThat(booking.getId()).isEqualTo(bookingDto.getId());
         assertThat(booking.getStart()).isEqualTo(bookingDto.getStart());
         assertThat(booking.getEnd()).isEqualTo(bookingDto.getEnd());
-        assertThat(booking.getItem()).isEqualTo(bookingDto.getItem());
-        assertThat(booking.getBooker()).isEqualTo(bookingDto.getBooker());
+        assertThat(booking.getItem().getId()).isEqualTo(2L);
+        assertThat(booking.getBooker().getId()).isEqualTo(3L);
         assertThat(booking.getStatus()).isEqualTo(bookingDto.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void toBookingDto_ShouldSerializeToLessThanHalfOfEntityGraph() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        User owner = new User(1L, "owner", "owner@ya.ru", 0L);
+        User requester = new User(2L, "requester", "requester@ya.ru", 0L);
+        ItemRequest request = new ItemRequest(1L, "Нужна дрель для ремонта", requester, LocalDateTime.now());
+        Item item = new Item(1L, "Дрель", "Простая ударная дрель с набором сверл", true, owner, request, 0L);
+        Booking booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, owner,
+                new User(3L, "booker", "booker@ya.ru", 0L), Status.APPROVED, 0L);
+
+        int entityPayload = objectMapper.writeValueAsBytes(booking).length;
+        int dtoPayload = objectMapper.writeValueAsBytes(BookingMapper.toBookingDto(booking)).length;
+
+        assertThat(dtoPayload * 2).isLessThan(entityPayload);
+    }
+}
@@ -1,39 +1,62 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.archive.BookingArchiver;
+import ru.practicum.shareit.booking.expiry.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingServiceIntegrationTest {
 
+    private static final BookingCursor FIRST_PAGE = BookingCursor.firstPage(20);
+
     private final BookingService bookingService;
     private final UserService userService;
     private final ItemService itemService;
     private final JpaBookingRepository bookingRepository;
+    private final JpaArchivedBookingRepository archivedBookingRepository;
+    private final BookingArchiver bookingArchiver;
+    private final BookingExpiryScheduler bookingExpiryScheduler;
+    private final EntityManager entityManager;
 
 
     Long ownerId;
     Long bookerId;
+    Long futureBookingId;
+    Long pastWaitingBookingId;
 
     @BeforeEach
     void setUp() {
@@ -62,7 +85,7 @@ class BookingServiceIntegrationTest {
         item1 = itemService.createItem(ownerId, item1);
         item2 = itemService.createItem(ownerId, item2);
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         CreateBookingDto booking1 = new CreateBookingDto();
         booking1.setStart(now.minusDays(1));
         booking1.setEnd(now.plusDays(4));
@@ -85,53 +108,228 @@ class BookingServiceIntegrationTest {
 
         BookingDto bookingDto1 = bookingService.createBooking(bookerId, booking1);
         BookingDto bookingDto2 = bookingService.createBooking(bookerId, booking2);
-        bookingService.createBooking(bookerId, booking3);
-        bookingService.createBooking(bookerId, booking4);
-        bookingDto1.setStatus(Status.REJECTED);
-        bookingDto2.setStatus(Status.APPROVED);
-        bookingRepository.save(BookingMapper.toBooking(bookingDto1));
-        bookingRepository.save(BookingMapper.toBooking(bookingDto2));
+        futureBookingId = bookingService.createBooking(bookerId, booking3).getId();
+        pastWaitingBookingId = bookingService.createBooking(bookerId, booking4).getId();
+        bookingRepository.findById(bookingDto1.getId()).orElseThrow().setStatus(Status.REJECTED);
+        bookingRepository.findById(bookingDto2.getId()).orElseThrow().setStatus(Status.APPROVED);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnAllBookings_WhenStateIsAll() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.ALL);
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.ALL, FIRST_PAGE);
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(4);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnCurrentBookings_WhenStateIsCurrent() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.CURRENT);
-        assertThat(bookings).isNotNull();
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.CURRENT, FIRST_PAGE);
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getStart()).isBefore(now);
+        assertThat(bookings.get(0).getEnd()).isAfter(now);
+        assertThat(bookings.get(0).getStatus()).isEqualTo(Status.REJECTED);
+    }
+
+    @Test
+    void getAllBookings_ShouldReturnBookingsInProgress_WhenStateIsCurrent() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> bookings = bookingService.getAllBookings(bookerId, BookingState.CURRENT, FIRST_PAGE);
         assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getStart()).isBefore(now);
+        assertThat(bookings.get(0).getEnd()).isAfter(now);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnPastBookings_WhenStateIsPast() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.PAST);
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.PAST, FIRST_PAGE);
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(2);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnFutureBookings_WhenStateIsFuture() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.FUTURE);
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.FUTURE, FIRST_PAGE);
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnWaitingBookings_WhenStateIsWaiting() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.WAITING);
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.WAITING, FIRST_PAGE);
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(2);
     }
 
     @Test
     void getAllBookingsByOwner_ShouldReturnRejectedBookings_WhenStateIsRejected() {
-        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.REJECTED);
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.REJECTED, FIRST_PAGE);
         assertThat(bookings).isNotNull();
         assertThat(bookings).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookings_ShouldReturnNextPageAfterCursor_WhenStartDatesAreEqual() {
+        List<BookingDto> firstPage = bookingService.getAllBookings(bookerId, BookingState.ALL,
+                BookingCursor.firstPage(3));
+        BookingDto last = firstPage.get(firstPage.size() - 1);
+        List<BookingDto> secondPage = bookingService.getAllBookings(bookerId, BookingState.ALL,
+                new BookingCursor(last.getStart(), last.getId(), 3));
+
+        assertThat(firstPage).hasSize(3);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getStart()).isEqualTo(last.getStart());
+        assertThat(secondPage.get(0).getId()).isLessThan(last.getId());
+    }
+
+    @Test
+    void getAllBookingsByOwner_ShouldLoadPageInOneStatementPerTable_WhenOwnerIsCached() {
+        Statistics statistics = startCountingStatements();
+
+        List<BookingDto> bookings = bookingService.getAllBookingsByOwner(ownerId, BookingState.ALL, FIRST_PAGE);
+
+        assertThat(bookings).hasSize(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getBookingStatsByOwner_ShouldCountEveryStateInOneStatementPerTable_WhenOwnerIsCached() {
+        Statistics statistics = startCountingStatements();
+
+        BookingStatsDto stats = bookingService.getBookingStatsByOwner(ownerId);
+
+        assertThat(stats).isEqualTo(new BookingStatsDto(4L, 1L, 2L, 1L, 2L, 1L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getBookingStats_ShouldMatchStateListSizes() {
+        BookingStatsDto stats = bookingService.getBookingStats(bookerId);
+
+        assertThat(stats.getAll()).isEqualTo(countBookings(BookingState.ALL));
+        assertThat(stats.getCurrent()).isEqualTo(countBookings(BookingState.CURRENT));
+        assertThat(stats.getPast()).isEqualTo(countBookings(BookingState.PAST));
+        assertThat(stats.getFuture()).isEqualTo(countBookings(BookingState.FUTURE));
+        assertThat(stats.getWaiting()).isEqualTo(countBookings(BookingState.WAITING));
+        assertThat(stats.getRejected()).isEqualTo(countBookings(BookingState.REJECTED));
+    }
+
+    @Test
+    void getBookingStats_ShouldReturnZeros_WhenUserHasNoBookings() {
+        assertThat(bookingService.getBookingStats(ownerId)).isEqualTo(new BookingStatsDto(0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    void getBookingById_ShouldFetchItemAndBookerInOneStatement() {
+        Long bookingId = bookingService.getAllBookings(bookerId, BookingState.ALL, FIRST_PAGE).get(0).getId();
+        Statistics statistics = startCountingStatements();
+
+        BookingDto booking = bookingService.getBookingById(bookerId, bookingId);
+
+        assertThat(booking.getItem().getName()).isEqualTo("item");
+        assertThat(booking.getBooker().getId()).isEqualTo(bookerId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bookingApproving_ShouldUpdateStatusInOneStatement_AndBeIdempotent() {
+        Statistics statistics = startCountingStatements();
+
+        BookingDto approved = bookingService.bookingApproving(ownerId, futureBookingId, true);
+
+        assertThat(approved.getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(bookingService.bookingApproving(ownerId, futureBookingId, true).getStatus())
+                .isEqualTo(Status.APPROVED);
+        assertThrows(ConflictException.class, () -> bookingService.bookingApproving(ownerId, futureBookingId, false));
+    }
+
+    @Test
+    void bookingApprovingBatch_ShouldApplyAllTransitionsInOneTransaction() {
+        Statistics statistics = startCountingStatements();
+
+        List<BookingDecisionResultDto> results = bookingService.bookingApprovingBatch(ownerId, List.of(
+                new BookingDecisionDto(futureBookingId, true),
+                new BookingDecisionDto(pastWaitingBookingId, false),
+                new BookingDecisionDto(Long.MAX_VALUE, true)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(results).extracting(BookingDecisionResultDto::getBookingId)
+                .containsExactly(futureBookingId, pastWaitingBookingId, Long.MAX_VALUE);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(results.get(1).getBooking().getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(results.get(2).getBooking()).isNull();
+        assertThat(results.get(2).getError()).isEqualTo("Бронирование не найдено");
+        assertThat(bookingService.getAllBookingsByOwner(ownerId, BookingState.WAITING, FIRST_PAGE)).isEmpty();
+
+        List<BookingDecisionResultDto> repeated = bookingService.bookingApprovingBatch(ownerId, List.of(
+                new BookingDecisionDto(futureBookingId, true),
+                new BookingDecisionDto(pastWaitingBookingId, true)));
+        assertThat(repeated.get(0).getBooking().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(repeated.get(1).getError()).isEqualTo("Бронирование уже рассмотрено");
+    }
+
+    @Test
+    void bookingApprovingBatch_ShouldNotChangeBookingsOfOtherOwners() {
+        List<BookingDecisionResultDto> results = bookingService.bookingApprovingBatch(bookerId,
+                List.of(new BookingDecisionDto(futureBookingId, true)));
+
+        assertThat(results.get(0).getError()).isEqualTo("Пользователь не является влвдельцем вещи");
+        assertThat(bookingService.getBookingById(ownerId, futureBookingId).getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    void bookingApproving_ShouldRejectBooker() {
+        assertThrows(ForbiddenException.class, () -> bookingService.bookingApproving(bookerId, futureBookingId, true));
+    }
+
+    @Test
+    void archiveEndedBefore_ShouldMoveReviewedBookings_AndKeepThemVisible() {
+        int archived = bookingArchiver.archiveEndedBefore(LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(bookingRepository.count()).isEqualTo(3);
+        Long archivedId = archivedBookingRepository.findAll().get(0).getId();
+        assertThat(bookingService.getBookingById(bookerId, archivedId).getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(bookingService.getAllBookingsByOwner(ownerId, BookingState.PAST, FIRST_PAGE)).hasSize(2);
+        assertThat(bookingService.getAllBookingsByOwner(ownerId, BookingState.WAITING, FIRST_PAGE)).hasSize(2);
+        assertThat(bookingService.getBookingStatsByOwner(ownerId))
+                .isEqualTo(new BookingStatsDto(4L, 1L, 2L, 1L, 2L, 1L));
+
+        List<BookingDto> all = bookingService.getAllBookings(bookerId, BookingState.ALL, FIRST_PAGE);
+        List<BookingDto> firstPage = bookingService.getAllBookings(bookerId, BookingState.ALL,
+                BookingCursor.firstPage(2));
+        BookingDto last = firstPage.get(1);
+        List<BookingDto> secondPage = bookingService.getAllBookings(bookerId, BookingState.ALL,
+                new BookingCursor(last.getStart(), last.getId(), 2));
+        assertThat(all).hasSize(4);
+        assertThat(Stream.concat(firstPage.stream(), secondPage.stream()).map(BookingDto::getId).toList())
+                .isEqualTo(all.stream().map(BookingDto::getId).toList());
+    }
+
+    @Test
+    void expire_ShouldCancelOnlyWaitingBookingsThatAlreadyStarted() {
+        int canceled = bookingExpiryScheduler.expire(List.of(pastWaitingBookingId, futureBookingId),
+                LocalDateTime.now());
+
+        assertThat(canceled).isEqualTo(1);
+        assertThat(bookingService.getBookingById(bookerId, pastWaitingBookingId).getStatus())
+                .isEqualTo(Status.CANCELED);
+        assertThat(bookingService.getAllBookingsByOwner(ownerId, BookingState.WAITING, FIRST_PAGE))
+                .extracting(BookingDto::getId)
+                .containsExactly(futureBookingId);
+    }
+
+    private long countBookings(BookingState state) {
+        return bookingService.getAllBookings(bookerId, state, BookingCursor.firstPage(100)).size();
+    }
+
+    private Statistics startCountingStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -7,20 +7,38 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOwnershipDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.expiry.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.lock.ItemLock;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -30,19 +48,40 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTest {
+    private static final LocalDateTime FIRST_PAGE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Mock
     private JpaBookingRepository bookingRepository;
 
+    @Mock
+    private JpaArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private UserService userService;
 
     @Mock
     private JpaItemRepository jpaItemRepository;
 
+    @Mock
+    private BookingAvailability bookingAvailability;
+
+    @Mock
+    private ItemLock itemLock;
+
+    @Mock
+    private BookingExpiryScheduler bookingExpiryScheduler;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -66,16 +105,18 @@ public class BookingServiceTest {
         userDto = new UserDto(userId, "Mike", "mike@test.com");
         createBookingDto = new CreateBookingDto();
         createBookingDto.setItemId(2L);
+        createBookingDto.setStart(LocalDateTime.now().plusDays(1));
+        createBookingDto.setEnd(LocalDateTime.now().plusDays(2));
 
-        user = new User(userId, "Mike", "mike@ya.ru");
+        user = new User(userId, "Mike", "mike@ya.ru", 0L);
         item = new Item();
         item.setId(2L);
         item.setName("item name");
         item.setDescription("description");
         item.setAvailable(true);
         item.setOwner(user);
-        owner = new User(1L, "Owner", "owner@test.com");
-        booker = new User(2L, "Booker", "booker@test.com");
+        owner = new User(1L, "Owner", "owner@test.com", 0L);
+        booker = new User(2L, "Booker", "booker@test.com", 0L);
         booking = new Booking();
         booking.setId(3L);
         booking.setItem(item);
@@ -146,8 +187,11 @@ public class BookingServiceTest {
 
         when(userService.getUserById(userId)).thenReturn(userDto);
         when(jpaItemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(bookingAvailability.isFree(item.getId(), createBookingDto.getStart(), createBookingDto.getEnd()))
+                .thenReturn(true);
 
         Booking booking = BookingMapper.toBooking(createBookingDto, ItemMapper.toItemDto(item), userDto, Status.WAITING);
+        booking.setId(10L);
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDto actualBookingDto = bookingService.createBooking(userId, createBookingDto);
@@ -156,6 +200,43 @@ public class BookingServiceTest {
         verify(userService, atLeast(1)).getUserById(userId);
         verify(jpaItemRepository, times(1)).findById(createBookingDto.getItemId());
         verify(bookingRepository, times(1)).save(any());
+        verify(itemLock).lockUntilTransactionEnd(item.getId());
+        verify(bookingAvailability).index(booking);
+        verify(bookingExpiryScheduler).schedule(booking);
+        verify(outboxPublisher).publish(OutboxEventType.BOOKING_CREATED, booking.getId(), actualBookingDto);
+        verify(domainEventPublisher).publishAfterCommit(DomainEventType.BOOKING_CHANGED, booking.getId());
+    }
+
+    @Test
+    void createBooking_whenPeriodOverlapsApprovedBooking_thenThrowConflictException() {
+        Long userId = userDto.getId();
+        createBookingDto.setEnd(createBookingDto.getStart().plusDays(1));
+        LocalDateTime freeFrom = createBookingDto.getEnd().plusHours(1);
+
+        when(userService.getUserById(userId)).thenReturn(userDto);
+        when(jpaItemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(bookingAvailability.isFree(item.getId(), createBookingDto.getStart(), createBookingDto.getEnd()))
+                .thenReturn(false);
+        when(bookingAvailability.nextFreeSlot(item.getId(), createBookingDto.getStart(), Duration.ofDays(1)))
+                .thenReturn(freeFrom);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.createBooking(userId, createBookingDto));
+
+        assertTrue(exception.getMessage().endsWith(freeFrom.toString()));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_whenEndIsNotAfterStart_thenThrowBadRequestException() {
+        Long userId = userDto.getId();
+        createBookingDto.setEnd(createBookingDto.getStart());
+
+        when(userService.getUserById(userId)).thenReturn(userDto);
+        when(jpaItemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
+
+        assertThrows(BadRequestException.class, () -> bookingService.createBooking(userId, createBookingDto));
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -170,19 +251,19 @@ public class BookingServiceTest {
     @Test
     void getBookingById_whenBookingExistsAndIsOwner_thenReturnBookingDto() {
         Long userId = 1L;
-        when(bookingRepository.getById(1L)).thenReturn(booking);
+        when(bookingRepository.findBookingById(1L)).thenReturn(Optional.of(booking));
 
         BookingDto actualBookingDto = bookingService.getBookingById(userId, 1L);
 
         assertNotNull(actualBookingDto);
         assertEquals(1L, actualBookingDto.getId());
-        verify(bookingRepository, times(1)).getById(1L);
+        verify(bookingRepository, times(1)).findBookingById(1L);
     }
 
     @Test
     void getBookingById_whenBookingDoesNotExist_thenThrowNotFoundException() {
         Long userId = 1L;
-        when(bookingRepository.getById(3L)).thenReturn(null);
+        when(bookingRepository.findBookingById(3L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.getBookingById(userId, 3L));
     }
@@ -190,7 +271,7 @@ public class BookingServiceTest {
     @Test
     void getBookingById_whenUserIsNotOwnerOrBooker_thenThrowForbiddenException() {
         Long userId = 3L;
-        when(bookingRepository.getById(3L)).thenReturn(booking);
+        when(bookingRepository.findBookingById(3L)).thenReturn(Optional.of(booking));
 
         assertThrows(ForbiddenException.class, () -> bookingService.getBookingById(userId, 3L));
     }
@@ -198,38 +279,170 @@ public class BookingServiceTest {
     @Test
     void bookingApproving_whenUserIsOwnerAndApproved_thenStatusUpdatedToApproved() {
         Long userId = owner.getId();
-        booking.setStatus(Status.WAITING);
+        booking.setStatus(Status.APPROVED);
 
-        when(bookingRepository.getById(booking.getId())).thenReturn(booking);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingRepository.updateWaitingStatus(booking.getId(), userId, Status.APPROVED)).thenReturn(1);
+        when(bookingRepository.findBookingDtoById(booking.getId()))
+                .thenReturn(Optional.of(BookingMapper.toBookingDto(booking)));
 
         BookingDto result = bookingService.bookingApproving(userId, booking.getId(), true);
 
         assertNotNull(result);
         assertEquals(Status.APPROVED, result.getStatus());
+        verify(bookingRepository, never()).findBookingById(any());
+        verify(bookingAvailability).index(any(Booking.class));
+        verify(bookingExpiryScheduler).cancel(booking.getId());
+        verify(outboxPublisher).publish(OutboxEventType.BOOKING_APPROVED, booking.getId(), result);
+        verify(domainEventPublisher).publishAfterCommit(DomainEventType.BOOKING_CHANGED, booking.getId());
     }
 
     @Test
     void bookingApproving_whenUserIsOwnerAndNotApproved_thenStatusUpdatedToRejected() {
         Long userId = owner.getId();
-        booking.setStatus(Status.WAITING);
+        booking.setStatus(Status.REJECTED);
+
+        when(bookingRepository.updateWaitingStatus(booking.getId(), userId, Status.REJECTED)).thenReturn(1);
+        when(bookingRepository.findBookingDtoById(booking.getId()))
+                .thenReturn(Optional.of(BookingMapper.toBookingDto(booking)));
 
-        when(bookingRepository.getById(booking.getId())).thenReturn(booking);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
-            Booking savedBooking = invocation.getArgument(0);
-            return savedBooking;
-        });
         BookingDto result = bookingService.bookingApproving(userId, booking.getId(), false);
         assertNotNull(result);
         assertEquals(Status.REJECTED, result.getStatus());
     }
 
+    @Test
+    void bookingApprovingBatch_whenDecisionsMixed_thenUpdateWaitingInOneStatementAndReportOthers() {
+        Long userId = user.getId();
+        booking.setStatus(Status.APPROVED);
+        when(bookingRepository.findAllOwnershipsByIdIn(List.of(1L, 4L, 5L, 6L, 7L))).thenReturn(List.of(
+                new BookingOwnershipDto(1L, userId, Status.WAITING),
+                new BookingOwnershipDto(4L, userId, Status.APPROVED),
+                new BookingOwnershipDto(5L, userId, Status.REJECTED),
+                new BookingOwnershipDto(6L, userId + 1, Status.WAITING)));
+        when(bookingRepository.updateWaitingStatuses(List.of(1L), userId, Status.APPROVED)).thenReturn(1);
+        when(bookingRepository.findAllBookingDtosByIdIn(List.of(1L, 4L))).thenReturn(List.of(
+                BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(approvedBooking)));
+
+        List<BookingDecisionResultDto> results = bookingService.bookingApprovingBatch(userId, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(4L, true),
+                new BookingDecisionDto(5L, true),
+                new BookingDecisionDto(6L, true),
+                new BookingDecisionDto(7L, false)));
+
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(Status.APPROVED, results.get(1).getBooking().getStatus());
+        assertEquals("Бронирование уже рассмотрено", results.get(2).getError());
+        assertEquals("Пользователь не является влвдельцем вещи", results.get(3).getError());
+        assertEquals("Бронирование не найдено", results.get(4).getError());
+        verify(bookingRepository, never()).updateWaitingStatuses(any(), any(), eq(Status.REJECTED));
+        verify(bookingAvailability).index(any(Booking.class));
+        verify(bookingExpiryScheduler).cancel(1L);
+        verify(outboxPublisher).publish(eq(OutboxEventType.BOOKING_APPROVED), eq(1L), any());
+        verifyNoMoreInteractions(outboxPublisher);
+    }
+
+    @Test
+    void bookingApprovingBatch_whenBookingChangedConcurrently_thenReportOnlyChangedBookings() {
+        Long userId = user.getId();
+        booking.setStatus(Status.APPROVED);
+        when(bookingRepository.findAllOwnershipsByIdIn(List.of(1L, 4L))).thenReturn(
+                List.of(new BookingOwnershipDto(1L, userId, Status.WAITING),
+                        new BookingOwnershipDto(4L, userId, Status.WAITING)),
+                List.of(new BookingOwnershipDto(1L, userId, Status.APPROVED),
+                        new BookingOwnershipDto(4L, userId, Status.CANCELED)));
+        when(bookingRepository.updateWaitingStatuses(List.of(1L, 4L), userId, Status.APPROVED)).thenReturn(1);
+        when(bookingRepository.findAllBookingDtosByIdIn(List.of(1L)))
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking)));
+
+        List<BookingDecisionResultDto> results = bookingService.bookingApprovingBatch(userId, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(4L, true)));
+
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus());
+        assertNull(results.get(1).getBooking());
+        assertEquals("Бронирование уже рассмотрено", results.get(1).getError());
+        verify(bookingExpiryScheduler).cancel(1L);
+        verify(outboxPublisher).publish(eq(OutboxEventType.BOOKING_APPROVED), eq(1L), any());
+        verifyNoMoreInteractions(outboxPublisher);
+    }
+
+    @Test
+    void bookingApprovingBatch_whenChangedBookingsCannotBeTold_thenThrowConflictException() {
+        Long userId = user.getId();
+        when(bookingRepository.findAllOwnershipsByIdIn(List.of(1L, 4L))).thenReturn(
+                List.of(new BookingOwnershipDto(1L, userId, Status.WAITING),
+                        new BookingOwnershipDto(4L, userId, Status.WAITING)),
+                List.of(new BookingOwnershipDto(1L, userId, Status.APPROVED),
+                        new BookingOwnershipDto(4L, userId, Status.APPROVED)));
+        when(bookingRepository.updateWaitingStatuses(List.of(1L, 4L), userId, Status.APPROVED)).thenReturn(1);
+
+        assertThrows(ConflictException.class, () -> bookingService.bookingApprovingBatch(userId, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(4L, true))));
+        verifyNoInteractions(outboxPublisher);
+    }
+
+    @Test
+    void bookingApprovingBatch_whenBookingRepeated_thenThrowBadRequestException() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(1L, false));
+
+        assertThrows(BadRequestException.class, () -> bookingService.bookingApprovingBatch(user.getId(), decisions));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void bookingApprovingBatch_whenApprovedPeriodsOverlap_thenThrowConflictException() {
+        Long userId = user.getId();
+        when(bookingRepository.findAllOwnershipsByIdIn(List.of(1L)))
+                .thenReturn(List.of(new BookingOwnershipDto(1L, userId, Status.WAITING)));
+        when(bookingRepository.updateWaitingStatuses(List.of(1L), userId, Status.APPROVED))
+                .thenThrow(new DataIntegrityViolationException("ex_bookings_item_period"));
+
+        assertThrows(ConflictException.class, () -> bookingService.bookingApprovingBatch(userId,
+                List.of(new BookingDecisionDto(1L, true))));
+    }
+
+    @Test
+    void bookingApproving_whenApprovedPeriodOverlaps_thenThrowConflictException() {
+        Long userId = owner.getId();
+
+        when(bookingRepository.updateWaitingStatus(booking.getId(), userId, Status.APPROVED))
+                .thenThrow(new DataIntegrityViolationException("ex_bookings_item_period"));
+
+        assertThrows(ConflictException.class, () -> bookingService.bookingApproving(userId, booking.getId(), true));
+    }
+
+    @Test
+    void bookingApproving_whenAlreadyInRequestedStatus_thenReturnBookingWithoutUpdate() {
+        Long userId = owner.getId();
+        booking.setStatus(Status.APPROVED);
+
+        when(bookingRepository.findBookingById(booking.getId())).thenReturn(Optional.of(booking));
+
+        BookingDto result = bookingService.bookingApproving(userId, booking.getId(), true);
+
+        assertEquals(Status.APPROVED, result.getStatus());
+        verify(bookingAvailability, never()).index(any());
+    }
+
+    @Test
+    void bookingApproving_whenAlreadyDecidedOtherwise_thenThrowConflictException() {
+        Long userId = owner.getId();
+        booking.setStatus(Status.REJECTED);
+
+        when(bookingRepository.findBookingById(booking.getId())).thenReturn(Optional.of(booking));
+
+        assertThrows(ConflictException.class, () -> bookingService.bookingApproving(userId, booking.getId(), true));
+    }
+
     @Test
     void bookingApproving_whenBookingDoesNotExist_thenThrowNotFoundException() {
         Long nonExistentBookingId = 999L;
         Long userId = owner.getId();
 
-        when(bookingRepository.getById(nonExistentBookingId)).thenThrow(new NotFoundException("Booking not found"));
+        when(bookingRepository.findBookingById(nonExistentBookingId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.bookingApproving(userId, nonExistentBookingId, true));
     }
@@ -237,7 +450,7 @@ public class BookingServiceTest {
     @Test
     void bookingApproving_whenUserIsNotOwner_thenThrowForbiddenException() {
         Long userId = 2L;
-        when(bookingRepository.getById(3L)).thenReturn(booking);
+        when(bookingRepository.findBookingById(3L)).thenReturn(Optional.of(booking));
 
         assertThrows(ForbiddenException.class, () -> bookingService.bookingApproving(userId, 3L, true));
     }
@@ -246,10 +459,11 @@ public class BookingServiceTest {
     void getAllBookings_whenUserExistsAndStateIsAll_thenReturnAllBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByBooker_IdOrderByStartDesc(userId))
-                .thenReturn(List.of(approvedBooking, notapprovedBooking));
+        when(bookingRepository.findAllBookingsByBooker_Id(userId,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(approvedBooking, notapprovedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.ALL);
+        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.ALL, BookingCursor.firstPage(20));
 
         assertEquals(2, actualBookings.size());
         assertTrue(actualBookings.stream().anyMatch(b -> b.getId().equals(approvedBooking.getId())));
@@ -257,13 +471,14 @@ public class BookingServiceTest {
     }
 
     @Test
-    void getAllBookings_whenUserExistsAndStateIsApproved_thenReturnApprovedBookings() {
+    void getAllBookings_whenUserExistsAndStateIsCurrent_thenReturnCurrentBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.APPROVED))
-                .thenReturn(List.of(approvedBooking));
+        when(bookingRepository.findAllCurrentBookingsByBooker_Id(eq(userId), any(LocalDateTime.class),
+                eq(FIRST_PAGE_START), eq(Long.MAX_VALUE), eq(Limit.of(20))))
+                .thenReturn(dtos(approvedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.CURRENT);
+        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.CURRENT, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(approvedBooking.getId(), actualBookings.get(0).getId());
@@ -273,10 +488,11 @@ public class BookingServiceTest {
     void getAllBookings_whenUserExistsAndStateIsRejected_thenReturnRejectedBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findBookingsByBooker_IdAndStatus(userId, Status.REJECTED))
-                .thenReturn(List.of(approvedBooking));
+        when(bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.REJECTED,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(approvedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.REJECTED);
+        List<BookingDto> actualBookings = bookingService.getAllBookings(userId, BookingState.REJECTED, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(approvedBooking.getId(), actualBookings.get(0).getId());
@@ -285,94 +501,134 @@ public class BookingServiceTest {
     @Test
     void getAllBookings_ShouldReturnAllBookings_WhenStateIsAll() {
         Long userId = user.getId();
-        when(bookingRepository.findAllBookingsByBooker_IdOrderByStartDesc(userId))
-                .thenReturn(Arrays.asList(nextBooking));
+        when(bookingRepository.findAllBookingsByBooker_Id(userId,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(nextBooking));
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.ALL);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.ALL, BookingCursor.firstPage(20));
 
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllBookingsByBooker_IdOrderByStartDesc(userId);
+        verify(bookingRepository).findAllBookingsByBooker_Id(userId,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20));
     }
 
     @Test
     void getAllBookings_ShouldReturnCurrentBookings_WhenStateIsCurrent() {
         Long userId = user.getId();
-        when(bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.APPROVED))
-                .thenReturn(Collections.singletonList(approvedBooking));
+        when(bookingRepository.findAllCurrentBookingsByBooker_Id(eq(userId), any(LocalDateTime.class),
+                eq(FIRST_PAGE_START), eq(Long.MAX_VALUE), eq(Limit.of(20))))
+                .thenReturn(dtos(approvedBooking));
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.CURRENT);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.CURRENT, BookingCursor.firstPage(20));
 
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllBookingsByBooker_IdAndStatus(userId, Status.APPROVED);
+        verify(bookingRepository).findAllCurrentBookingsByBooker_Id(eq(userId), any(LocalDateTime.class),
+                eq(FIRST_PAGE_START), eq(Long.MAX_VALUE), eq(Limit.of(20)));
     }
 
     @Test
     void getAllBookings_ShouldReturnPastBookings_WhenStateIsPast() {
         Long userId = user.getId();
-        when(bookingRepository.findAllBookingsByBooker_IdAndEndIsBeforeOrderByStartDesc(userId,
-                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)))
-                .thenReturn(Collections.singletonList(pastBooking));
+        when(bookingRepository.findAllBookingsByBooker_IdAndEndIsBefore(userId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(pastBooking));
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.PAST);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.PAST, BookingCursor.firstPage(20));
 
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllBookingsByBooker_IdAndEndIsBeforeOrderByStartDesc(userId,
-                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        verify(bookingRepository).findAllBookingsByBooker_IdAndEndIsBefore(userId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20));
     }
 
     @Test
     void getAllBookings_ShouldReturnFutureBookings_WhenStateIsFuture() {
         Long userId = user.getId();
-        when(bookingRepository.findAllBookingsByBooker_IdAndStartIsAfterOrderByStartDesc(userId,
-                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)))
-                .thenReturn(Collections.singletonList(futureBooking));
+        when(bookingRepository.findAllBookingsByBooker_IdAndStartIsAfter(userId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(futureBooking));
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.FUTURE);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.FUTURE, BookingCursor.firstPage(20));
 
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllBookingsByBooker_IdAndStartIsAfterOrderByStartDesc(userId,
-                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        verify(bookingRepository).findAllBookingsByBooker_IdAndStartIsAfter(userId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20));
     }
 
     @Test
     void getAllBookings_ShouldReturnWaitingBookings_WhenStateIsWaiting() {
         Long userId = user.getId();
-        when(bookingRepository.findBookingsByBooker_IdAndStatus(userId, Status.WAITING))
+        when(bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.WAITING,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
                 .thenReturn(Collections.emptyList());
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.WAITING);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.WAITING, BookingCursor.firstPage(20));
 
         assertTrue(result.isEmpty());
-        verify(bookingRepository).findBookingsByBooker_IdAndStatus(userId, Status.WAITING);
+        verify(bookingRepository).findAllBookingsByBooker_IdAndStatus(userId, Status.WAITING,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20));
     }
 
     @Test
     void getAllBookings_ShouldReturnRejectedBookings_WhenStateIsRejected() {
         Long userId = user.getId();
-        when(bookingRepository.findBookingsByBooker_IdAndStatus(userId, Status.REJECTED))
+        when(bookingRepository.findAllBookingsByBooker_IdAndStatus(userId, Status.REJECTED,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
                 .thenReturn(Collections.emptyList());
         when(userService.getUserById(userId)).thenReturn(userDto);
 
-        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.REJECTED);
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.REJECTED, BookingCursor.firstPage(20));
 
         assertTrue(result.isEmpty());
-        verify(bookingRepository).findBookingsByBooker_IdAndStatus(userId, Status.REJECTED);
+        verify(bookingRepository).findAllBookingsByBooker_IdAndStatus(userId, Status.REJECTED,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20));
     }
 
 
+    @Test
+    void getAllBookings_ShouldContinueAfterCursor_WhenCursorIsGiven() {
+        Long userId = user.getId();
+        LocalDateTime cursorStart = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(userService.getUserById(userId)).thenReturn(userDto);
+        when(bookingRepository.findAllBookingsByBooker_Id(userId, cursorStart, 10L, Limit.of(5)))
+                .thenReturn(dtos(pastBooking));
+
+        List<BookingDto> result = bookingService.getAllBookings(userId, BookingState.ALL,
+                new BookingCursor(cursorStart, 10L, 5));
+
+        assertEquals(1, result.size());
+        verify(bookingRepository).findAllBookingsByBooker_Id(userId, cursorStart, 10L, Limit.of(5));
+    }
+
+    @Test
+    void getAllBookings_ShouldThrowBadRequest_WhenCursorIsIncompleteOrSizeIsNotPositive() {
+        Long userId = user.getId();
+        when(userService.getUserById(userId)).thenReturn(userDto);
+
+        assertThrows(BadRequestException.class, () -> bookingService.getAllBookings(userId, BookingState.ALL,
+                new BookingCursor(LocalDateTime.now(), null, 20)));
+        assertThrows(BadRequestException.class, () -> bookingService.getAllBookings(userId, BookingState.ALL,
+                BookingCursor.firstPage(0)));
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void getAllBookingsByOwner_whenUserExistsAndStateIsAll_thenReturnAllBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByItemOwnerOrderByStartDesc(userId))
-                .thenReturn(List.of(approvedBooking, notapprovedBooking));
+        when(bookingRepository.findAllBookingsByItemOwner(userId,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(approvedBooking, notapprovedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.ALL);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.ALL, BookingCursor.firstPage(20));
 
         assertEquals(2, actualBookings.size());
         assertTrue(actualBookings.stream().anyMatch(b -> b.getId().equals(approvedBooking.getId())));
@@ -380,13 +636,14 @@ public class BookingServiceTest {
     }
 
     @Test
-    void getAllBookingsByOwner_whenUserExistsAndStateIsApproved_thenReturnApprovedBookings() {
+    void getAllBookingsByOwner_whenUserExistsAndStateIsCurrent_thenReturnCurrentBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.APPROVED))
-                .thenReturn(List.of(approvedBooking));
+        when(bookingRepository.findAllCurrentBookingsByItemOwner(eq(userId), any(LocalDateTime.class),
+                eq(FIRST_PAGE_START), eq(Long.MAX_VALUE), eq(Limit.of(20))))
+                .thenReturn(dtos(approvedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.CURRENT);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.CURRENT, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(approvedBooking.getId(), actualBookings.get(0).getId());
@@ -396,10 +653,11 @@ public class BookingServiceTest {
     void getAllBookingsByOwner_whenUserExistsAndStateIsRejected_thenReturnRejectedBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findBookingsByItemOwnerAndStatus(userId, Status.REJECTED))
-                .thenReturn(List.of(notapprovedBooking));
+        when(bookingRepository.findAllBookingsByItemOwnerAndStatus(userId, Status.REJECTED,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(notapprovedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.REJECTED);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.REJECTED, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(notapprovedBooking.getId(), actualBookings.get(0).getId());
@@ -409,11 +667,11 @@ public class BookingServiceTest {
     void getAllBookingsByOwner_whenUserExistsAndStateIsPast_thenReturnPastBookings() {
         Long userId = user.getId();
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByItemOwnerAndEndIsBeforeOrderByStartDesc(
-                userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)))
-                .thenReturn(List.of(notapprovedBooking));
+        when(bookingRepository.findAllBookingsByItemOwnerAndEndIsBefore(userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(notapprovedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.PAST);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.PAST, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(notapprovedBooking.getId(), actualBookings.get(0).getId());
@@ -423,11 +681,11 @@ public class BookingServiceTest {
     void getAllBookingsByOwner_whenUserExistsAndStateIsFuture_thenReturnFutureBookings() {
         Long userId = 1L;
         when(userService.getUserById(userId)).thenReturn(new UserDto(userId, user.getName(), user.getEmail()));
-        when(bookingRepository.findAllBookingsByItemOwnerAndStartIsAfterOrderByStartDesc(
-                userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)))
-                .thenReturn(List.of(approvedBooking));
+        when(bookingRepository.findAllBookingsByItemOwnerAndStartIsAfter(userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(approvedBooking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.FUTURE);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(userId, BookingState.FUTURE, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(approvedBooking.getId(), actualBookings.get(0).getId());
@@ -437,15 +695,38 @@ public class BookingServiceTest {
     void getAllBookingsByOwner_whenUserExistsAndStateIsWaiting_thenReturnWaitingBookings() {
 
         when(userService.getUserById(1L)).thenReturn(new UserDto(1L, user.getName(), user.getEmail()));
-        when(bookingRepository.findBookingsByItemOwnerAndStatus(1L, Status.WAITING))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findAllBookingsByItemOwnerAndStatus(1L, Status.WAITING,
+                FIRST_PAGE_START, Long.MAX_VALUE, Limit.of(20)))
+                .thenReturn(dtos(booking));
 
-        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(1L, BookingState.WAITING);
+        List<BookingDto> actualBookings = bookingService.getAllBookingsByOwner(1L, BookingState.WAITING, BookingCursor.firstPage(20));
 
         assertEquals(1, actualBookings.size());
         assertEquals(booking.getId(), actualBookings.get(0).getId());
     }
-}
 
+    @Test
+    void getBookingStats_ShouldReturnCountsOfBooker() {
+        BookingStatsDto stats = new BookingStatsDto(6L, 1L, 2L, 3L, 1L, 1L);
+        when(userService.getUserById(1L)).thenReturn(userDto);
+        when(bookingRepository.countBookingsByBooker_Id(eq(1L), any(LocalDateTime.class))).thenReturn(stats);
+        when(archivedBookingRepository.countBookingsByBooker_Id(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new BookingStatsDto(4L, 0L, 4L, 0L, 0L, 2L));
+
+        assertEquals(new BookingStatsDto(10L, 1L, 6L, 3L, 1L, 3L), bookingService.getBookingStats(1L));
+    }
+
+    @Test
+    void getBookingStatsByOwner_ShouldThrowNotFound_WhenUserDoesNotExist() {
+        when(userService.getUserById(1L)).thenThrow(new NotFoundException("Пользователь не найден"));
 
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingStatsByOwner(1L));
+        verify(bookingRepository, never()).countBookingsByItemOwner(any(), any());
+    }
 
+    private List<BookingDto> dtos(Booking... bookings) {
+        return Arrays.stream(bookings)
+                .map(BookingMapper::toBookingDto)
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStateQueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Limit LIMIT = Limit.of(20);
+
+    private final JpaBookingRepository bookingRepository;
+    private final EntityManager entityManager;
+
+    @Test
+    void bookerStateQueries_ShouldUseBookerIndexes() {
+        bookingRepository.findAllBookingsByBooker_Id(1L, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertBookerPlan(lastStatementPlan());
+
+        bookingRepository.findAllCurrentBookingsByBooker_Id(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertBookerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByBooker_IdAndEndIsBefore(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertBookerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByBooker_IdAndStartIsAfter(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertBookerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByBooker_IdAndStatus(1L, Status.WAITING, CURSOR_START, Long.MAX_VALUE,
+                LIMIT);
+        assertBookerPlan(lastStatementPlan());
+    }
+
+    @Test
+    void ownerStateQueries_ShouldUseOwnerIndexesOfBookings() {
+        bookingRepository.findAllBookingsByItemOwner(1L, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertOwnerPlan(lastStatementPlan());
+
+        bookingRepository.findAllCurrentBookingsByItemOwner(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertOwnerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByItemOwnerAndEndIsBefore(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertOwnerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByItemOwnerAndStartIsAfter(1L, NOW, CURSOR_START, Long.MAX_VALUE, LIMIT);
+        assertOwnerPlan(lastStatementPlan());
+
+        bookingRepository.findAllBookingsByItemOwnerAndStatus(1L, Status.WAITING, CURSOR_START, Long.MAX_VALUE,
+                LIMIT);
+        assertOwnerPlan(lastStatementPlan());
+    }
+
+    private void assertBookerPlan(String plan) {
+        assertThat(plan).containsPattern("FROM \"PUBLIC\".\"BOOKINGS\".*\\s+/\\* PUBLIC\\.\\w+: BOOKER_ID = \\?1")
+                .doesNotContain("tableScan");
+    }
+
+    private void assertOwnerPlan(String plan) {
+        assertThat(plan).containsPattern("FROM \"PUBLIC\".\"BOOKINGS\".*\\s+/\\* PUBLIC\\.\\w+: OWNER_ID = \\?1")
+                .doesNotContain("tableScan");
+    }
+
+    private String lastStatementPlan() {
+        String sql = SqlStatementRecorder.lastStatement();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
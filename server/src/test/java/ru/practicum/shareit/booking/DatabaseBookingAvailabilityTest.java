@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.DatabaseBookingAvailability;
+import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class DatabaseBookingAvailabilityTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final JpaBookingRepository bookingRepository;
+    private final EntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    private DatabaseBookingAvailability availability;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Item otherItem;
+
+    @BeforeEach
+    void setUp() {
+        availability = new DatabaseBookingAvailability(bookingRepository);
+        owner = entityManager.getReference(User.class, createUser("owner@ya.ru"));
+        booker = entityManager.getReference(User.class, createUser("booker@ya.ru"));
+        item = entityManager.getReference(Item.class, createItem("drill"));
+        otherItem = entityManager.getReference(Item.class, createItem("saw"));
+    }
+
+    @Test
+    void isFree_ShouldConsiderOnlyApprovedBookingsOfItem() {
+        save(item, now.plusHours(10), now.plusHours(20), Status.APPROVED);
+        save(item, now.plusHours(30), now.plusHours(40), Status.WAITING);
+
+        assertThat(availability.isFree(item.getId(), now.plusHours(15), now.plusHours(16))).isFalse();
+        assertThat(availability.isFree(item.getId(), now.plusHours(5), now.plusHours(11))).isFalse();
+        assertThat(availability.isFree(item.getId(), now.plusHours(20), now.plusHours(30))).isTrue();
+        assertThat(availability.isFree(item.getId(), now.plusHours(31), now.plusHours(35))).isTrue();
+        assertThat(availability.isFree(otherItem.getId(), now.plusHours(15), now.plusHours(16))).isTrue();
+    }
+
+    @Test
+    void nextFreeSlot_ShouldSkipChainOfApprovedBookings() {
+        save(item, now.plusHours(10), now.plusHours(20), Status.APPROVED);
+        save(item, now.plusHours(21), now.plusHours(30), Status.APPROVED);
+        save(item, now.plusHours(40), now.plusHours(50), Status.APPROVED);
+
+        assertThat(availability.nextFreeSlot(item.getId(), now, Duration.ofHours(10))).isEqualTo(now);
+        assertThat(availability.nextFreeSlot(item.getId(), now.plusHours(12), Duration.ofHours(5)))
+                .isEqualTo(now.plusHours(30));
+        assertThat(availability.nextFreeSlot(item.getId(), now.plusHours(12), Duration.ofHours(11)))
+                .isEqualTo(now.plusHours(50));
+    }
+
+    @Test
+    void lastAndNextBookingIds_ShouldSkipRejectedAndEndedBookings() {
+        Long current = save(item, now.minusHours(1), now.plusHours(5), Status.WAITING);
+        Long future = save(item, now.plusHours(10), now.plusHours(20), Status.APPROVED);
+        save(item, now.plusHours(2), now.plusHours(30), Status.REJECTED);
+        save(otherItem, now.minusHours(5), now.minusHours(1), Status.APPROVED);
+
+        List<Long> itemIds = List.of(item.getId(), otherItem.getId());
+        assertThat(availability.lastBookingIds(itemIds, now)).isEqualTo(Map.of(item.getId(), future));
+        assertThat(availability.nextBookingIds(itemIds, now)).isEqualTo(Map.of(item.getId(), future));
+
+        bookingRepository.deleteById(future);
+        assertThat(availability.lastBookingIds(itemIds, now)).isEqualTo(Map.of(item.getId(), current));
+        assertThat(availability.nextBookingIds(itemIds, now)).isEmpty();
+    }
+
+    private Long createUser(String email) {
+        UserDto user = new UserDto();
+        user.setName("user");
+        user.setEmail(email);
+        return userService.createUser(user).getId();
+    }
+
+    private Long createItem(String name) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        return itemService.createItem(owner.getId(), itemDto).getId();
+    }
+
+    private Long save(Item bookedItem, LocalDateTime start, LocalDateTime end, Status status) {
+        Booking booking = new Booking();
+        booking.setItem(bookedItem);
+        booking.setOwner(owner);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return bookingRepository.save(booking).getId();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.expiry.HashedTimingWheel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_000_000;
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, START);
+
+    @Test
+    void advance_ShouldExpireOnlyDeadlinesOfFinishedTicks() {
+        wheel.schedule(1L, START + 150);
+        wheel.schedule(2L, START + 250);
+
+        assertEquals(List.of(), wheel.advance(START + 199));
+        assertEquals(List.of(1L), wheel.advance(START + 200));
+        assertEquals(List.of(2L), wheel.advance(START + 300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldWaitFullRoundsForDeadlinesBeyondOneRevolution() {
+        wheel.schedule(1L, START + 8 * TICK + 50);
+        wheel.schedule(2L, START + 2 * 8 * TICK + 50);
+
+        assertEquals(List.of(), wheel.advance(START + 8 * TICK));
+        assertEquals(List.of(1L), wheel.advance(START + 9 * TICK));
+        assertEquals(List.of(), wheel.advance(START + 2 * 8 * TICK));
+        assertEquals(List.of(2L), wheel.advance(START + 2 * 8 * TICK + TICK));
+    }
+
+    @Test
+    void advance_ShouldExpireOverdueDeadlinesOnNextTick() {
+        wheel.advance(START + 5 * TICK);
+        wheel.schedule(1L, START);
+
+        assertEquals(List.of(1L), wheel.advance(START + 6 * TICK));
+    }
+
+    @Test
+    void cancel_ShouldRemoveDeadlineFromItsBucket() {
+        wheel.schedule(1L, START + 50);
+        wheel.schedule(2L, START + 60);
+        wheel.schedule(3L, START + 70);
+
+        assertTrue(wheel.cancel(2L));
+        assertFalse(wheel.cancel(2L));
+        assertEquals(List.of(3L, 1L), wheel.advance(START + TICK));
+    }
+
+    @Test
+    void schedule_ShouldReplacePreviousDeadlineOfSameId() {
+        wheel.schedule(1L, START + 50);
+        wheel.schedule(1L, START + 350);
+
+        assertEquals(List.of(), wheel.advance(START + 3 * TICK));
+        assertEquals(List.of(1L), wheel.advance(START + 4 * TICK));
+    }
+
+    @Test
+    void constructor_ShouldRejectWheelSizeNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(TICK, 6, START));
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.lock.StripedItemLock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedItemLockTest {
+
+    private final StripedItemLock itemLock = new StripedItemLock(4);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lock_ShouldBlockSameItemUntilTransactionEnds() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        executor.submit(() -> inTransaction(() -> {
+            itemLock.lockUntilTransactionEnd(1L);
+            locked.countDown();
+            await(finish);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Future<?> sameItem = executor.submit(() -> inTransaction(() -> itemLock.lockUntilTransactionEnd(1L)));
+        assertThrows(TimeoutException.class, () -> sameItem.get(200, TimeUnit.MILLISECONDS));
+
+        finish.countDown();
+        sameItem.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lock_ShouldNotBlockItemFromAnotherStripe() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        executor.submit(() -> inTransaction(() -> {
+            itemLock.lockUntilTransactionEnd(1L);
+            locked.countDown();
+            await(finish);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        executor.submit(() -> inTransaction(() -> itemLock.lockUntilTransactionEnd(2L))).get(5, TimeUnit.SECONDS);
+        finish.countDown();
+    }
+
+    @Test
+    void lock_ShouldRequireTransaction() {
+        assertThrows(IllegalStateException.class, () -> itemLock.lockUntilTransactionEnd(1L));
+    }
+
+    private void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
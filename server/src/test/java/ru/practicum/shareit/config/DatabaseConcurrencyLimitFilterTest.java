@@ -0,0 +1,60 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseConcurrencyLimitFilterTest {
+
+    private final DatabaseConcurrencyLimitFilter filter =
+            new DatabaseConcurrencyLimitFilter(1, Duration.ofMillis(10), new ObjectMapper());
+
+    @Test
+    void doFilter_ShouldRejectRequest_WhenAllPermitsAreTaken() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        AtomicInteger passed = new AtomicInteger();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    passed.incrementAndGet();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), rejected,
+                            (innerRequest, innerResponse) -> passed.incrementAndGet());
+                });
+
+        assertEquals(1, passed.get());
+        assertEquals(503, rejected.getStatus());
+        assertTrue(rejected.getContentAsString().contains("Нет свободных соединений"));
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermit_WhenChainThrows() {
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        throw new IllegalStateException();
+                    });
+        } catch (Exception ignored) {
+        }
+
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_ShouldSkipActuator() throws Exception {
+        AtomicInteger passed = new AtomicInteger();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                        new MockHttpServletResponse(), (innerRequest, innerResponse) -> passed.incrementAndGet()));
+
+        assertEquals(1, passed.get());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Сравнивает публикацию в {@link DomainEventBus} с синхронной рассылкой событий Spring.
+ * Запускается через main или org.openjdk.jmh.Main с тестовым classpath модуля server после mvn test-compile.
+ * Когда поток шины не успевает, часть публикаций в ringBuffer отбрасывается, это тоже входит в замер.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DomainEventBusBenchmark {
+
+    private final LongAdder handled = new LongAdder();
+    private DomainEventBus bus;
+    private StaticApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bus = new DomainEventBus(List.of(event -> handled.add(event.getAggregateId())),
+                new SimpleMeterRegistry(), 65536);
+        bus.start();
+        context = new StaticApplicationContext();
+        context.addApplicationListener((ApplicationListener<PayloadApplicationEvent<Long>>) event ->
+                handled.add(event.getPayload()));
+        context.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        bus.stop();
+        context.close();
+    }
+
+    @Benchmark
+    public boolean ringBuffer() {
+        return bus.publish(DomainEventType.BOOKING_CHANGED, 1L);
+    }
+
+    @Benchmark
+    public void applicationEventPublisher() {
+        context.publishEvent(Long.valueOf(1L));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DomainEventBusBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
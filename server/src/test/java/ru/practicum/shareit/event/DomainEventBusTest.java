@@ -0,0 +1,147 @@
+package ru.practicum.shareit.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DomainEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void publish_ShouldDeliverEventsOfEachProducerInOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(producers * perProducer);
+        bus = new DomainEventBus(List.of(event -> {
+            received.add(event.getAggregateId());
+            delivered.countDown();
+        }), meterRegistry, 1024);
+        bus.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!bus.publish(DomainEventType.ITEM_CHANGED, base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        for (long id : received) {
+            int producer = (int) (id / perProducer);
+            assertTrue(id > last[producer]);
+            last[producer] = id;
+        }
+        assertEquals(producers * perProducer, meterRegistry.counter("shareit.events.published").count());
+    }
+
+    @Test
+    void publish_ShouldDropEventWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bus = new DomainEventBus(List.of(event -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), meterRegistry, 2);
+        bus.start();
+
+        assertTrue(bus.publish(DomainEventType.BOOKING_CHANGED, 1L));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(bus.publish(DomainEventType.BOOKING_CHANGED, 2L));
+        assertFalse(bus.publish(DomainEventType.BOOKING_CHANGED, 3L));
+        assertEquals(1, meterRegistry.counter("shareit.events.dropped").count());
+
+        release.countDown();
+    }
+
+    @Test
+    void publish_ShouldKeepDispatchingWhenListenerFails() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(2);
+        bus = new DomainEventBus(List.of(event -> {
+            throw new IllegalStateException("fail");
+        }, event -> delivered.countDown()), meterRegistry, 8);
+        bus.start();
+
+        bus.publish(DomainEventType.USER_DELETED, 1L);
+        bus.publish(DomainEventType.USER_DELETED, 2L);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.counter("shareit.events.failed").count());
+    }
+
+    @Test
+    void publish_ShouldWakeConsumerParkedOnEmptyBuffer() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        bus = new DomainEventBus(List.of(event -> delivered.countDown()), meterRegistry, 8);
+        bus.start();
+        awaitConsumerState(Thread.State.WAITING);
+
+        bus.publish(DomainEventType.ITEM_CHANGED, 1L);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void start_ShouldNotStartConsumerWithoutListeners() throws InterruptedException {
+        bus = new DomainEventBus(List.of(), meterRegistry, 8);
+        bus.start();
+
+        assertTrue(bus.publish(DomainEventType.USER_DELETED, 1L));
+        assertEquals(0, bus.backlog());
+        assertTrue(consumerThreads().isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectBufferSizeNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new DomainEventBus(List.of(), meterRegistry, 6));
+    }
+
+    private static void awaitConsumerState(Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (consumerThreads().stream().noneMatch(thread -> thread.getState() == state)) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<Thread> consumerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("domain-event-bus"))
+                .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DomainEventPublisherTest {
+
+    @Mock
+    private DomainEventBus bus;
+
+    @InjectMocks
+    private DomainEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishAfterCommit_ShouldPublishImmediatelyWithoutTransaction() {
+        publisher.publishAfterCommit(DomainEventType.ITEM_CHANGED, 1L);
+
+        verify(bus).publish(DomainEventType.ITEM_CHANGED, 1L);
+    }
+
+    @Test
+    void publishAfterCommit_ShouldPublishInOrderOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishAfterCommit(DomainEventType.ITEM_CHANGED, 1L);
+        publisher.publishAfterCommit(DomainEventType.BOOKING_CHANGED, 2L);
+        verify(bus, never()).publish(any(), anyLong());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        var order = inOrder(bus);
+        order.verify(bus).publish(DomainEventType.ITEM_CHANGED, 1L);
+        order.verify(bus).publish(DomainEventType.BOOKING_CHANGED, 2L);
+    }
+
+    @Test
+    void publishAfterCommit_ShouldDiscardEventsOfRolledBackTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publishAfterCommit(DomainEventType.ITEM_CHANGED, 1L);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publishAfterCommit(DomainEventType.USER_DELETED, 3L);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(bus, never()).publish(DomainEventType.ITEM_CHANGED, 1L);
+        verify(bus).publish(DomainEventType.USER_DELETED, 3L);
+    }
+
+    private static void completeTransaction(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
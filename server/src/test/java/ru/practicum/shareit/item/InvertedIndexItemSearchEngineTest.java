@@ -0,0 +1,211 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InvertedIndexItemSearchEngineTest {
+
+    @Mock
+    private JpaItemRepository jpaItemRepository;
+
+    @InjectMocks
+    private InvertedIndexItemSearchEngine searchEngine;
+
+    private final Map<Long, Item> storage = new HashMap<>();
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jpaItemRepository.findItemViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .sorted()
+                    .map(id -> projectionFactory.createProjection(ItemView.class, ItemMapper.toItemDto(storage.get(id))))
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_ShouldMatchSubstringOfNameOrDescriptionIgnoringCase() {
+        index(1L, "Дрель", "Простая дрель", true);
+        index(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        index(3L, "Молоток", "Тяжелый", true);
+
+        assertEquals(List.of(1L), ids(searchEngine.search("дРелЬ", 100)));
+        assertEquals(List.of(2L), ids(searchEngine.search("АККУМУЛЯТОР", 100)));
+        assertEquals(List.of(1L, 2L), ids(searchEngine.search("р", 100)));
+        assertTrue(searchEngine.search("пила", 100).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnNoMoreThanLimit() {
+        index(1L, "Дрель 1", "дрель", true);
+        index(2L, "Дрель 2", "дрель", true);
+        index(3L, "Дрель 3", "дрель", true);
+
+        assertEquals(List.of(1L, 2L), ids(searchEngine.search("дрель", 2)));
+        assertEquals(List.of(1L), ids(searchEngine.search("д", 1)));
+    }
+
+    @Test
+    void search_ShouldAnswerShortQueriesInIdOrder() {
+        index(3L, "Пила", "Ручная", true);
+        index(1L, "Лобзик", "Пилка в комплекте", true);
+        index(2L, "Молоток", "Стальной", true);
+
+        assertEquals(List.of(1L, 3L), ids(searchEngine.search("пи", 100)));
+        assertEquals(List.of(1L), ids(searchEngine.search("пи", 1)));
+        assertEquals(List.of(1L, 2L, 3L), ids(searchEngine.search("л", 100)));
+
+        index(1L, "Лобзик", "Электрический", true);
+        assertEquals(List.of(3L), ids(searchEngine.search("пи", 100)));
+    }
+
+    @Test
+    void search_ShouldNotMatchAcrossNameAndDescription() {
+        index(1L, "abc", "def", true);
+
+        assertTrue(searchEngine.search("cde", 100).isEmpty());
+        verify(jpaItemRepository, never()).findItemViewsByIdIn(anyCollection());
+    }
+
+    @Test
+    void index_ShouldFollowAvailabilityAndTextUpdates() {
+        index(1L, "Дрель", "Простая дрель", true);
+
+        index(1L, "Дрель", "Простая дрель", false);
+        assertTrue(searchEngine.search("дрель", 100).isEmpty());
+
+        index(1L, "Шуруповерт", "Бывшая дрель", true);
+        assertEquals(List.of(1L), ids(searchEngine.search("шуруп", 100)));
+        assertTrue(searchEngine.search("Простая", 100).isEmpty());
+    }
+
+    @Test
+    void index_ShouldApplyChangeOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index(1L, "Дрель", "Простая дрель", true);
+
+        assertTrue(searchEngine.search("дрель", 100).isEmpty());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of(1L), ids(searchEngine.search("дрель", 100)));
+    }
+
+    @Test
+    void index_ShouldDropChangeOfRolledBackTransaction() {
+        index(1L, "Дрель", "Простая дрель", true);
+        TransactionSynchronizationManager.initSynchronization();
+        index(1L, "Дрель", "Простая дрель", false);
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(List.of(1L), ids(searchEngine.search("дрель", 100)));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesCommittedWhileLoading() {
+        Item loaded = item(1L, "Дрель", "Простая дрель", true);
+        storage.put(1L, loaded);
+        when(jpaItemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            index(2L, "Пила", "Ручная пила", true);
+            Pageable pageable = invocation.getArgument(0);
+            return new PageImpl<>(List.of(loaded), pageable, 1);
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of(1L), ids(searchEngine.search("дрель", 100)));
+        assertEquals(List.of(2L), ids(searchEngine.search("пила", 100)));
+    }
+
+    @Test
+    void rebuild_ShouldLoadAllItemsPageByPage() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            Item item = item(id, "item " + id, "description", id % 2 == 0);
+            storage.put(id, item);
+            items.add(item);
+        }
+        when(jpaItemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            int from = (int) pageable.getOffset();
+            int to = Math.min(from + pageable.getPageSize(), items.size());
+            return new PageImpl<>(items.subList(from, to), pageable, items.size());
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of(1000L), ids(searchEngine.search("item 1000", 100)));
+        assertTrue(searchEngine.search("item 1499", 100).isEmpty());
+        assertEquals(750, searchEngine.search("descr", 1000).size());
+        verify(jpaItemRepository).findAll(PageRequest.of(1, 1000, Sort.by("id")));
+    }
+
+    private void index(Long id, String name, String description, boolean available) {
+        Item item = item(id, name, description, available);
+        storage.put(id, item);
+        searchEngine.index(item);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+    private List<Long> ids(List<ItemView> items) {
+        return items.stream().map(ItemView::getId).toList();
+    }
+}
@@ -18,11 +18,12 @@ import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.service.ItemService;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -111,9 +112,9 @@ public class ItemControllerTest {
     void getItemById_ShouldReturnStatus_WhenItemExists() throws Exception {
         Long itemId = 1L;
 
-        Item item = new Item(itemId, "item_name", "item_description", true, null, null);
+        ItemShortDto item = new ItemShortDto(itemId, "item_name");
 
-        User booker = new User(1L, "John Doe", "john@example.com");
+        UserShortDto booker = new UserShortDto(1L, "John Doe");
 
         BookingDto lastBooking = new BookingDto(1L, LocalDateTime.now().minusDays(2),
                 LocalDateTime.now().minusDays(1), item, booker, Status.APPROVED);
@@ -161,13 +162,13 @@ public class ItemControllerTest {
     void searchItemByNameOrDescription_ShouldReturnStatus_WhenItemsMatchSearch() throws Exception {
         String searchText = "item";
 
-        when(itemService.searchItemByNameOrDescription(searchText)).thenReturn(new ArrayList<>());
+        when(itemService.searchItemByNameOrDescription(searchText, 100)).thenReturn(new ArrayList<>());
 
         mockMvc.perform(get("/items/search")
                         .param("text", searchText))
                 .andExpect(status().isOk());
 
-        verify(itemService).searchItemByNameOrDescription(searchText);
+        verify(itemService).searchItemByNameOrDescription(searchText, 100);
     }
 
     @Test
@@ -187,4 +188,20 @@ public class ItemControllerTest {
 
         verify(itemService).postComment(eq(userId), eq(itemId), any(CommentCreateDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemCalendar_ShouldPassWindowToService_AndCheckResponseStatus() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemCalendarDto calendar = new ItemCalendarDto(1L, from, to, List.of(10L, 4L, 10L));
+
+        when(itemService.getItemCalendar(1L, from, to)).thenReturn(calendar);
+
+        mockMvc.perform(get("/items/{itemId}/calendar", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(itemService).getItemCalendar(1L, from, to);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.JpaUserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemOptimisticLockingTest {
+
+    private static final int UPDATES_PER_WRITER = 20;
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JpaItemRepository itemRepository;
+    private final JpaUserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Long ownerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        UserDto owner = new UserDto();
+        owner.setName("owner");
+        owner.setEmail("optimistic-owner@ya.ru");
+        ownerId = userService.createUser(owner).getId();
+
+        ItemDto item = new ItemDto();
+        item.setName("name-0");
+        item.setDescription("description-0");
+        item.setAvailable(true);
+        itemId = itemService.createItem(ownerId, item).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(itemId);
+        userRepository.deleteById(ownerId);
+    }
+
+    @Test
+    void save_ShouldRejectStaleItem() {
+        Item stale = transactionTemplate.execute(status -> itemRepository.findById(itemId).orElseThrow());
+
+        ItemDto update = new ItemDto();
+        update.setName("fresh");
+        itemService.updateItem(ownerId, itemId, update);
+
+        stale.setDescription("stale");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(stale));
+
+        Item fromDb = itemRepository.findById(itemId).orElseThrow();
+        assertThat(fromDb.getName()).isEqualTo("fresh");
+        assertThat(fromDb.getDescription()).isEqualTo("description-0");
+        assertThat(fromDb.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateItem_ShouldNotLoseConcurrentUpdatesOfDifferentFields() {
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<Void> names = CompletableFuture.runAsync(() -> {
+            await(start);
+            for (int i = 1; i <= UPDATES_PER_WRITER; i++) {
+                ItemDto update = new ItemDto();
+                update.setName("name-" + i);
+                itemService.updateItem(ownerId, itemId, update);
+            }
+        });
+        CompletableFuture<Void> descriptions = CompletableFuture.runAsync(() -> {
+            await(start);
+            for (int i = 1; i <= UPDATES_PER_WRITER; i++) {
+                ItemDto update = new ItemDto();
+                update.setDescription("description-" + i);
+                itemService.updateItem(ownerId, itemId, update);
+            }
+        });
+        start.countDown();
+        CompletableFuture.allOf(names, descriptions).join();
+
+        Item fromDb = itemRepository.findById(itemId).orElseThrow();
+        assertThat(fromDb.getName()).isEqualTo("name-" + UPDATES_PER_WRITER);
+        assertThat(fromDb.getDescription()).isEqualTo("description-" + UPDATES_PER_WRITER);
+        assertThat(fromDb.getVersion()).isEqualTo(2L * UPDATES_PER_WRITER);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,28 +1,37 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.repository.JpaCommentRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,6 +45,9 @@ class ItemServiceIntegrationTest {
     private final JpaBookingRepository bookingRepository;
     private final JpaCommentRepository commentRepository;
     private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final BookingAvailability bookingAvailability;
+    private final ItemSearchEngine itemSearchEngine;
 
     private Long ownerId;
     private Long bookerId;
@@ -69,8 +81,9 @@ class ItemServiceIntegrationTest {
         bookingDto1.setStart(now.minusDays(2));
         bookingDto1.setEnd(now.plusDays(1));
         booking1 = bookingService.createBooking(bookerId, bookingDto1);
-        booking1.setStatus(Status.APPROVED);
-        bookingRepository.save(BookingMapper.toBooking(booking1));
+        Booking approved = bookingRepository.findById(booking1.getId()).orElseThrow();
+        approved.setStatus(Status.APPROVED);
+        indexAsCommitted(approved);
 
         Comment comment = new Comment();
         comment.setId(1L);
@@ -97,4 +110,73 @@ class ItemServiceIntegrationTest {
         assertThat(completeItem.getComments()).hasSize(1);
         assertThat(completeItem.getComments().get(0).getText()).isEqualTo("Great item!");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemCalendar_ShouldMarkApprovedBookingHoursAsBusy() {
+        LocalDateTime from = booking1.getStart().minusDays(1).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = booking1.getEnd().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        ItemCalendarDto calendar = itemService.getItemCalendar(item.getId(), from, to);
+
+        long bookedHours = Math.ceilDiv(Duration.between(from, booking1.getEnd()).toMinutes(), 60)
+                - Duration.between(from, booking1.getStart()).toHours();
+        assertThat(calendar.getRuns()).containsExactly(24L, bookedHours,
+                Duration.between(from, to).toHours() - 24L - bookedHours);
+    }
+
+    @Test
+    void searchItemByNameOrDescription_ShouldReturnItemDtoProjection() {
+        CompletableFuture.runAsync(() -> itemSearchEngine.index(ItemMapper.toItem(item))).join();
+
+        List<ItemDto> found = itemService.searchItemByNameOrDescription("ITEMA", 10);
+
+        assertThat(found).containsExactly(item);
+    }
+
+    @Test
+    void getOwnersItems_ShouldUseFixedNumberOfStatements_WhenOwnerHasManyItems() {
+        for (int i = 0; i < 5; i++) {
+            ItemDto another = new ItemDto();
+            another.setName("item" + i);
+            another.setDescription("description" + i);
+            another.setAvailable(true);
+            another = itemService.createItem(ownerId, another);
+            CreateBookingDto bookingDto = new CreateBookingDto();
+            bookingDto.setItemId(another.getId());
+            bookingDto.setStart(LocalDateTime.now().plusDays(i + 1));
+            bookingDto.setEnd(LocalDateTime.now().plusDays(i + 2));
+            Long bookingId = bookingService.createBooking(bookerId, bookingDto).getId();
+            indexAsCommitted(bookingRepository.findById(bookingId).orElseThrow());
+        }
+        Statistics statistics = startCountingStatements();
+
+        List<ItemCompleteDto> items = itemService.getOwnersItems(ownerId);
+
+        assertThat(items).hasSize(6);
+        assertThat(items).allSatisfy(completeItem -> assertThat(
+                completeItem.getLastBooking() != null || completeItem.getNextBooking() != null).isTrue());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getItemById_ShouldLoadItemBookingsAndCommentsInThreeStatements() {
+        Statistics statistics = startCountingStatements();
+
+        ItemCompleteDto completeItem = itemService.getItemById(item.getId());
+
+        assertThat(completeItem.getComments()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private void indexAsCommitted(Booking booking) {
+        CompletableFuture.runAsync(() -> bookingAvailability.index(booking)).join();
+    }
+
+    private Statistics startCountingStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -9,29 +9,42 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.repository.JpaArchivedBookingRepository;
 import ru.practicum.shareit.booking.repository.JpaBookingRepository;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemCompleteDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.JpaCommentRepository;
 import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxPublisher;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.JpaUserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class ItemServiceTest {
@@ -42,15 +55,27 @@ public class ItemServiceTest {
     @Mock
     private UserService userService;
 
-    @Mock
-    private JpaUserRepository jpaUserRepository;
-
     @Mock
     private JpaCommentRepository jpaCommentRepository;
 
     @Mock
     private JpaBookingRepository jpaBookingRepository;
 
+    @Mock
+    private JpaArchivedBookingRepository jpaArchivedBookingRepository;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private BookingAvailability bookingAvailability;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -143,7 +168,6 @@ public class ItemServiceTest {
 
     @Test
     void createItem_ShouldReturnItemDto_WhenValidInput() {
-        when(jpaUserRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userService.getUserById(1L)).thenReturn(new UserDto(user.getId(), user.getName(), user.getEmail()));
         when(jpaItemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -153,13 +177,16 @@ public class ItemServiceTest {
         assertEquals(itemDto.getName(), createdItemDto.getName());
         assertEquals(itemDto.getDescription(), createdItemDto.getDescription());
         assertTrue(createdItemDto.getAvailable());
-        verify(jpaUserRepository).findById(1L);
+        verify(userService).getUserById(1L);
         verify(jpaItemRepository).save(any(Item.class));
+        verify(itemSearchEngine).index(any(Item.class));
+        verify(outboxPublisher).publish(OutboxEventType.ITEM_CREATED, createdItemDto.getId(), createdItemDto);
+        verify(domainEventPublisher).publishAfterCommit(DomainEventType.ITEM_CHANGED, createdItemDto.getId());
     }
 
     @Test
     void createItem_ShouldThrowNotFoundException_WhenUserNotFound() {
-        when(jpaUserRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userService.getUserById(1L)).thenThrow(new NotFoundException("Пользователь не найден"));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
             itemService.createItem(1L, itemDto);
@@ -170,7 +197,7 @@ public class ItemServiceTest {
     @Test
     void updateItem_ShouldReturnUpdatedItemDto_WhenValidInput() {
         when(jpaItemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(jpaItemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jpaItemRepository.saveAndFlush(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ItemDto updatedItemDto = itemService.updateItem(1L, 1L, itemDtoUpdate);
 
@@ -179,7 +206,8 @@ public class ItemServiceTest {
         assertEquals(itemDtoUpdate.getDescription(), updatedItemDto.getDescription());
         assertFalse(updatedItemDto.getAvailable());
         verify(jpaItemRepository).findById(1L);
-        verify(jpaItemRepository).save(any(Item.class));
+        verify(jpaItemRepository).saveAndFlush(any(Item.class));
+        verify(itemSearchEngine).index(item);
     }
 
     @Test
@@ -210,12 +238,14 @@ public class ItemServiceTest {
 
     @Test
     void getItemById_ShouldReturnItemCompleteDto_WhenItemExists() {
-        LocalDateTime fixedNow = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
-
         when(jpaItemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(jpaBookingRepository.findLastBookingByItem_Id(1L, fixedNow)).thenReturn(lastBooking);
-        when(jpaBookingRepository.findNextBookingByItem_Id(1L, fixedNow)).thenReturn(nextBooking);
-        when(jpaCommentRepository.findAllByItem_Id(1L)).thenReturn(List.of(comment));
+        when(bookingAvailability.lastBookingIds(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, booking.getId()));
+        when(bookingAvailability.nextBookingIds(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, nextBooking.getId()));
+        when(jpaBookingRepository.findAllBookingDtosByIdIn(Set.of(booking.getId(), nextBooking.getId())))
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(nextBooking)));
+        when(jpaCommentRepository.findAllByItem_IdIn(List.of(1L))).thenReturn(List.of(comment));
 
         ItemCompleteDto itemCompleteDto = itemService.getItemById(1L);
 
@@ -241,12 +271,14 @@ public class ItemServiceTest {
 
     @Test
     void getOwnersItems_ShouldReturnListOfItemCompleteDto_WhenItemsExist() {
-        LocalDateTime fixedNow = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
-
         when(jpaItemRepository.getItemsByOwnerId(1L)).thenReturn(List.of(item));
-        when(jpaBookingRepository.findLastBookingByItem_Id(1L, fixedNow)).thenReturn(lastBooking);
-        when(jpaBookingRepository.findNextBookingByItem_Id(1L, fixedNow)).thenReturn(nextBooking);
-        when(jpaCommentRepository.findAllByItem_Id(1L)).thenReturn(List.of(comment));
+        when(bookingAvailability.lastBookingIds(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, nextBooking.getId()));
+        when(bookingAvailability.nextBookingIds(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, nextBooking.getId()));
+        when(jpaBookingRepository.findAllBookingDtosByIdIn(Set.of(nextBooking.getId())))
+                .thenReturn(List.of(BookingMapper.toBookingDto(nextBooking)));
+        when(jpaCommentRepository.findAllByItem_IdIn(List.of(1L))).thenReturn(List.of(comment));
 
         List<ItemCompleteDto> result = itemService.getOwnersItems(1L);
 
@@ -255,11 +287,42 @@ public class ItemServiceTest {
         ItemCompleteDto completeDto = result.get(0);
         assertEquals(item.getId(), completeDto.getId());
         assertEquals(item.getName(), completeDto.getName());
-        assertNotNull(completeDto.getLastBooking());
-        assertNotNull(completeDto.getNextBooking());
+        assertEquals(nextBooking.getId(), completeDto.getLastBooking().getId());
+        assertEquals(nextBooking.getId(), completeDto.getNextBooking().getId());
         assertFalse(completeDto.getComments().isEmpty());
     }
 
+    @Test
+    void getOwnersItems_ShouldLoadBookingsAndCommentsForAllItemsAtOnce() {
+        Item secondItem = new Item();
+        secondItem.setId(2L);
+        secondItem.setName("second item");
+        secondItem.setDescription("description");
+        secondItem.setAvailable(true);
+        secondItem.setOwner(user);
+        booking.setItem(secondItem);
+
+        when(jpaItemRepository.getItemsByOwnerId(1L)).thenReturn(List.of(item, secondItem));
+        when(bookingAvailability.lastBookingIds(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, nextBooking.getId(), 2L, booking.getId()));
+        when(bookingAvailability.nextBookingIds(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, nextBooking.getId()));
+        when(jpaBookingRepository.findAllBookingDtosByIdIn(Set.of(booking.getId(), nextBooking.getId())))
+                .thenReturn(List.of(BookingMapper.toBookingDto(booking), BookingMapper.toBookingDto(nextBooking)));
+        when(jpaCommentRepository.findAllByItem_IdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
+
+        List<ItemCompleteDto> result = itemService.getOwnersItems(1L);
+
+        assertEquals(2, result.size());
+        assertEquals(nextBooking.getId(), result.get(0).getNextBooking().getId());
+        assertEquals(1, result.get(0).getComments().size());
+        assertEquals(booking.getId(), result.get(1).getLastBooking().getId());
+        assertNull(result.get(1).getNextBooking());
+        assertTrue(result.get(1).getComments().isEmpty());
+        verify(jpaBookingRepository, times(1)).findAllBookingDtosByIdIn(anyCollection());
+        verify(jpaCommentRepository, times(1)).findAllByItem_IdIn(anyCollection());
+    }
+
     @Test
     void getOwnersItems_ShouldReturnEmptyList_WhenNoItemsFound() {
         when(jpaItemRepository.getItemsByOwnerId(1L)).thenReturn(Collections.emptyList());
@@ -273,21 +336,29 @@ public class ItemServiceTest {
     @Test
     void searchItemByNameOrDescription_ShouldReturnListOfItems_WhenTextIsNotEmpty() {
         String searchText = "Item";
-        when(jpaItemRepository.searchItem(searchText)).thenReturn(List.of(item));
+        ItemView itemView = new SpelAwareProxyProjectionFactory()
+                .createProjection(ItemView.class, ItemMapper.toItemDto(item));
+        when(itemSearchEngine.search(searchText, 10)).thenReturn(List.of(itemView));
 
-        List<Item> result = itemService.searchItemByNameOrDescription(searchText);
+        List<ItemDto> result = itemService.searchItemByNameOrDescription(searchText, 10);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(List.of(ItemMapper.toItemDto(item)), result);
     }
 
     @Test
     void searchItemByNameOrDescription_ShouldReturnEmptyList_WhenTextIsEmpty() {
-        List<Item> result = itemService.searchItemByNameOrDescription("");
+        List<ItemDto> result = itemService.searchItemByNameOrDescription("", 10);
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void searchItemByNameOrDescription_ShouldThrowBadRequestException_WhenSizeIsNotPositive() {
+        assertThrows(BadRequestException.class, () -> itemService.searchItemByNameOrDescription("item", 0));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
     @Test
     void postComment_ShouldReturnCommentDto_WhenBookingExists() {
         LocalDateTime fixedNow = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -304,6 +375,68 @@ public class ItemServiceTest {
 
         assertNotNull(result);
         assertEquals(commentCreateDto.getText(), result.getText());
+        verify(outboxPublisher).publish(OutboxEventType.COMMENT_POSTED, result.getId(), result);
     }
-}
 
+    @Test
+    void getItemCalendar_ShouldEncodeBusyHoursAsRuns() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusHours(24);
+        when(jpaItemRepository.existsById(1L)).thenReturn(true);
+        when(jpaBookingRepository.findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(
+                1L, Status.APPROVED, to, from)).thenReturn(List.of(
+                calendarBooking(from.minusHours(5), from.plusHours(2)),
+                calendarBooking(from.plusHours(2), from.plusHours(3).plusMinutes(30)),
+                calendarBooking(from.plusHours(3), from.plusHours(4)),
+                calendarBooking(from.plusHours(10).plusMinutes(15), from.plusHours(10).plusMinutes(45)),
+                calendarBooking(from.plusHours(20), from.plusDays(3))));
+
+        ItemCalendarDto calendar = itemService.getItemCalendar(1L, from, to);
+
+        assertEquals(from, calendar.getFrom());
+        assertEquals(to, calendar.getTo());
+        assertEquals(List.of(0L, 4L, 6L, 1L, 9L, 4L), calendar.getRuns());
+    }
+
+    @Test
+    void getItemCalendar_ShouldAlignWindowToHours_AndReturnSingleFreeRun() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 20);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 1, 15, 5);
+        when(jpaItemRepository.existsById(1L)).thenReturn(true);
+        when(jpaBookingRepository.findAllByItem_IdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(
+                eq(1L), eq(Status.APPROVED), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        ItemCalendarDto calendar = itemService.getItemCalendar(1L, from, to);
+
+        assertEquals(LocalDateTime.of(2030, 1, 1, 10, 0), calendar.getFrom());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 16, 0), calendar.getTo());
+        assertEquals(List.of(6L), calendar.getRuns());
+    }
+
+    @Test
+    void getItemCalendar_ShouldRejectTooLongOrInvertedPeriod() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(BadRequestException.class, () -> itemService.getItemCalendar(1L, from, from.minusHours(1)));
+        assertThrows(BadRequestException.class, () -> itemService.getItemCalendar(1L, from, from.plusDays(367)));
+        verifyNoInteractions(jpaBookingRepository);
+    }
+
+    @Test
+    void getItemCalendar_ShouldThrowNotFound_WhenItemDoesNotExist() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(jpaItemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemCalendar(1L, from, from.plusDays(1)));
+    }
+
+    private Booking calendarBooking(LocalDateTime start, LocalDateTime end) {
+        Booking calendarBooking = new Booking();
+        calendarBooking.setItem(item);
+        calendarBooking.setStart(start);
+        calendarBooking.setEnd(end);
+        calendarBooking.setStatus(Status.APPROVED);
+        return calendarBooking;
+    }
+}
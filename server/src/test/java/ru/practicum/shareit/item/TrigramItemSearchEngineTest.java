@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.repository.JpaItemRepository;
+import ru.practicum.shareit.item.search.TrigramItemSearchEngine;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TrigramItemSearchEngineTest {
+
+    @Mock
+    private JpaItemRepository jpaItemRepository;
+
+    @InjectMocks
+    private TrigramItemSearchEngine engine;
+
+    @Test
+    void search_whenTextShorterThanTrigram_thenOrderById() {
+        engine.search("ab", 10);
+
+        verify(jpaItemRepository).searchItemBySubstring("ab", 10);
+        verify(jpaItemRepository, never()).searchItemByTrigrams(anyString(), anyInt());
+    }
+
+    @Test
+    void search_whenTextHasTrigrams_thenOrderBySimilarity() {
+        engine.search("дрель", 10);
+
+        verify(jpaItemRepository).searchItemByTrigrams("дрель", 10);
+        verify(jpaItemRepository, never()).searchItemBySubstring(anyString(), anyInt());
+    }
+}
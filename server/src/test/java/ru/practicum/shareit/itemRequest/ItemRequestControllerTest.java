@@ -7,6 +7,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,12 +23,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestListDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -58,8 +57,7 @@ public class ItemRequestControllerTest {
     void createItemRequest_ShouldReturnCreatedItemRequest_AndCheckResponseStatus() throws Exception {
         Long userId = 1L;
 
-        User user = new User(userId, "Username", "user@example.com");
-        ItemRequest expected = new ItemRequest(1L, "Request description", user, LocalDateTime.now());
+        ItemRequestDto expected = new ItemRequestDto(1L, "Request description", LocalDateTime.now());
 
         when(itemRequestService.createItemRequest(eq(userId), any(ItemRequestDto.class))).thenReturn(expected);
 
@@ -68,6 +66,7 @@ public class ItemRequestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"description\": \"Request description\"}"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requester").doesNotExist())
                 .andReturn();
 
         verify(itemRequestService).createItemRequest(eq(userId), any(ItemRequestDto.class));
@@ -7,7 +7,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.UserMapper;
@@ -42,12 +41,12 @@ class ItemRequestServiceIntegrationTest {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
         itemRequestDto.setDescription("Need a bike");
 
-        ItemRequest createdRequest = itemRequestService.createItemRequest(userId, itemRequestDto);
+        ItemRequestDto createdRequest = itemRequestService.createItemRequest(userId, itemRequestDto);
 
         assertThat(createdRequest).isNotNull();
         assertThat(createdRequest.getId()).isNotNull();
         assertThat(createdRequest.getDescription()).isEqualTo("Need a bike");
-        assertThat(createdRequest.getRequester().getId()).isEqualTo(userId);
+        assertThat(itemRequestService.getAllUsersRequests(userId).get(0)).isEqualTo(createdRequest);
         assertThat(createdRequest.getCreated()).isNotNull();
     }
 
@@ -42,7 +42,7 @@ public class ItemRequestServiceTest {
     @Test
     void createItemRequest_whenUserExists_thenItemRequestIsCreated() {
         Long userId = 1L;
-        User user = new User(userId, "Mike", "mike@test.com");
+        User user = new User(userId, "Mike", "mike@test.com", 0L);
 
         String description = "Need a book";
         LocalDateTime createdTime = LocalDateTime.now();
@@ -56,10 +56,9 @@ public class ItemRequestServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRequestRepository.save(any(ItemRequest.class))).thenReturn(expectedItemRequest);
 
-        ItemRequest actualItemRequest = itemRequestService.createItemRequest(userId, itemRequestDto);
+        ItemRequestDto actualItemRequest = itemRequestService.createItemRequest(userId, itemRequestDto);
 
         assertEquals(expectedItemRequest.getDescription(), actualItemRequest.getDescription());
-        assertEquals(expectedItemRequest.getRequester().getId(), actualItemRequest.getRequester().getId());
         assertNotNull(actualItemRequest.getCreated());
 
         verify(userRepository, times(1)).findById(userId);
@@ -69,7 +68,7 @@ public class ItemRequestServiceTest {
     @Test
     void getAllUsersRequests_whenUserExists_thenReturnRequests() {
         Long userId = 1L;
-        User user = new User(userId, "Mike", "mike@test.com");
+        User user = new User(userId, "Mike", "mike@test.com", 0L);
 
         ItemRequest request1 = new ItemRequest();
         request1.setDescription("Request 1");
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.outbox.repository.JpaOutboxRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final JpaOutboxRepository outboxRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    private Long ownerId;
+    private Long bookerId;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+
+        UserDto owner = new UserDto();
+        owner.setName("owner");
+        owner.setEmail("outbox-owner@ya.ru");
+        ownerId = userService.createUser(owner).getId();
+
+        UserDto booker = new UserDto();
+        booker.setName("booker");
+        booker.setEmail("outbox-booker@ya.ru");
+        bookerId = userService.createUser(booker).getId();
+
+        ItemDto newItem = new ItemDto();
+        newItem.setName("drill");
+        newItem.setDescription("drill");
+        newItem.setAvailable(true);
+        item = itemService.createItem(ownerId, newItem);
+    }
+
+    @Test
+    void changes_ShouldWriteEventsInTheirTransaction_AndRelayShouldDrainThem() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        CreateBookingDto createBookingDto = new CreateBookingDto();
+        createBookingDto.setItemId(item.getId());
+        createBookingDto.setStart(now.plusDays(1));
+        createBookingDto.setEnd(now.plusDays(2));
+        BookingDto booking = bookingService.createBooking(bookerId, createBookingDto);
+        bookingService.bookingApproving(ownerId, booking.getId(), true);
+
+        List<OutboxEvent> events = outboxRepository.findAll();
+        assertThat(events).extracting(OutboxEvent::getType).containsExactly(OutboxEventType.ITEM_CREATED,
+                OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_APPROVED);
+        assertThat(events).extracting(OutboxEvent::getAggregateId)
+                .containsExactly(item.getId(), booking.getId(), booking.getId());
+        JsonNode approved = objectMapper.readTree(events.get(2).getPayload());
+        assertThat(approved.get("status").asText()).isEqualTo("APPROVED");
+        assertThat(approved.get("item").get("id").asLong()).isEqualTo(item.getId());
+
+        assertThat(outboxRelay.relayBatch()).extracting(OutboxEvent::getId)
+                .containsExactlyElementsOf(events.stream().map(OutboxEvent::getId).toList());
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void failedChange_ShouldNotWriteEvent() {
+        CreateBookingDto createBookingDto = new CreateBookingDto();
+        createBookingDto.setItemId(item.getId());
+        createBookingDto.setStart(LocalDateTime.now().plusDays(2));
+        createBookingDto.setEnd(LocalDateTime.now().plusDays(1));
+
+        assertThrows(BadRequestException.class, () -> bookingService.createBooking(bookerId, createBookingDto));
+        assertThat(outboxRepository.findAll()).extracting(OutboxEvent::getType)
+                .containsExactly(OutboxEventType.ITEM_CREATED);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.outbox.repository.JpaOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private JpaOutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxConsumer consumer;
+
+    @Mock
+    private ObjectProvider<OutboxConsumer> consumers;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(consumers.orderedStream()).thenReturn(Stream.of(consumer));
+        relay = new OutboxRelay(outboxRepository, consumers, new TransactionTemplate(transactionManager),
+                meterRegistry, 2);
+    }
+
+    @Test
+    void relayBatch_ShouldDeliverBatchAndDeleteIt() {
+        List<OutboxEvent> events = List.of(event(1L), event(2L));
+        when(outboxRepository.findNextBatch(Limit.of(2))).thenReturn(events);
+
+        assertEquals(events, relay.relayBatch());
+
+        verify(consumer).accept(events);
+        verify(outboxRepository).deleteAllByIdIn(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.counter("shareit.outbox.relayed").count());
+        assertEquals(2, meterRegistry.timer("shareit.outbox.lag").count());
+    }
+
+    @Test
+    void relayBatch_ShouldKeepBatch_WhenConsumerFails() {
+        List<OutboxEvent> events = List.of(event(1L));
+        when(outboxRepository.findNextBatch(Limit.of(2))).thenReturn(events);
+        doThrow(new IllegalStateException("consumer is down")).when(consumer).accept(events);
+
+        assertEquals(List.of(), relay.relayBatch());
+
+        verify(outboxRepository, never()).deleteAllByIdIn(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("shareit.outbox.failures").count());
+        assertEquals(0.0, meterRegistry.counter("shareit.outbox.relayed").count());
+    }
+
+    @Test
+    void relayPending_ShouldPollUntilBatchIsNotFull() {
+        when(outboxRepository.findNextBatch(Limit.of(2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        relay.relayPending();
+
+        verify(outboxRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(outboxRepository).deleteAllByIdIn(List.of(3L));
+        assertEquals(3.0, meterRegistry.counter("shareit.outbox.relayed").count());
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent(id, "booking", id, OutboxEventType.BOOKING_CREATED, "{}",
+                LocalDateTime.now().minusSeconds(1));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserCacheConsistencyTest {
+
+    private final UserService userService;
+    private final CacheManager cacheManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        UserDto user = new UserDto();
+        user.setName("kate");
+        user.setEmail("kate-cache@ya.ru");
+        userId = userService.createUser(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUserById(userId);
+    }
+
+    @Test
+    void getUserById_ShouldReturnNewValue_AfterCommittedUpdate() {
+        assertThat(userService.getUserById(userId).getName()).isEqualTo("kate");
+
+        UserDto updatedUser = new UserDto();
+        updatedUser.setName("kate_updated");
+        userService.updateUser(userId, updatedUser);
+
+        assertThat(cacheManager.getCache("users").get(userId)).isNull();
+        assertThat(userService.getUserById(userId).getName()).isEqualTo("kate_updated");
+    }
+
+    @Test
+    void cacheAdvice_ShouldWrapRetryAndTransaction() {
+        List<Class<?>> advices = Arrays.stream(((Advised) userService).getAdvisors())
+                .map(Advisor::getAdvice)
+                .<Class<?>>map(Object::getClass)
+                .toList();
+
+        assertThat(advices.indexOf(CacheInterceptor.class))
+                .isNotNegative()
+                .isLessThan(advices.indexOf(AnnotationAwareRetryOperationsInterceptor.class))
+                .isLessThan(advices.indexOf(TransactionInterceptor.class));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import static org.junit.Assert.assertThrows;
 class UserServiceIntegrationTest {
     private final UserService userService;
     private final JpaUserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     private Long userId;
 
@@ -66,4 +68,39 @@ class UserServiceIntegrationTest {
 
         assertThat(exception.getMessage()).isEqualTo("Существующий емайл");
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUser_ShouldAllowKeepingOwnEmail() {
+        UserDto updatedUser = new UserDto();
+        updatedUser.setName("mike_renamed");
+        updatedUser.setEmail("mike@ya.ru");
+
+        UserDto result = userService.updateUser(userId, updatedUser);
+
+        assertThat(result.getName()).isEqualTo("mike_renamed");
+        assertThat(result.getEmail()).isEqualTo("mike@ya.ru");
+    }
+
+    @Test
+    void getUserById_ShouldBeServedFromCacheUntilUserIsUpdated() {
+        userService.getUserById(userId);
+        double hits = cacheGets("hit");
+
+        userService.getUserById(userId);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+
+        UserDto updatedUser = new UserDto();
+        updatedUser.setName("mike_cached");
+        userService.updateUser(userId, updatedUser);
+
+        assertThat(userService.getUserById(userId).getName()).isEqualTo("mike_cached");
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "users")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
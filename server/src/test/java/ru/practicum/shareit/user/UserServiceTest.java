@@ -5,6 +5,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.event.DomainEventPublisher;
+import ru.practicum.shareit.event.DomainEventType;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -12,8 +15,6 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.JpaUserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,13 +26,16 @@ public class UserServiceTest {
     @Mock
     private JpaUserRepository jpaUserRepository;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
     @Test
     void getUserById_whenUserFound_thenReturnedUser() {
         Long userId = 1L;
-        User user = new User(userId, "Mike", "mike@test.com");
+        User user = new User(userId, "Mike", "mike@test.com", 0L);
         UserDto expectedUserDto = UserMapper.toUserDto(user);
 
         when(jpaUserRepository.findById(userId)).thenReturn(Optional.of(user));
@@ -58,27 +62,39 @@ public class UserServiceTest {
         UserDto userDto = new UserDto(1L, "Mike", "mike@test.com");
         User user = UserMapper.toUser(userDto);
 
-        when(jpaUserRepository.findAll()).thenReturn(Collections.emptyList());
-        when(jpaUserRepository.save(any(User.class))).thenReturn(user);
+        when(jpaUserRepository.existsByEmail("mike@test.com")).thenReturn(false);
+        when(jpaUserRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserDto createdUser = userService.createUser(userDto);
 
         assertEquals(userDto.getEmail(), createdUser.getEmail());
         assertEquals(userDto.getName(), createdUser.getName());
-        verify(jpaUserRepository, times(1)).save(any(User.class));
+        verify(jpaUserRepository, times(1)).saveAndFlush(any(User.class));
+        verify(jpaUserRepository, never()).findAll();
+    }
+
+    @Test
+    void createUser_whenUniqueConstraintIsViolated_thenConflictExceptionShouldBeThrown() {
+        UserDto userDto = new UserDto(null, "Mike", "mike@test.com");
+
+        when(jpaUserRepository.existsByEmail("mike@test.com")).thenReturn(false);
+        when(jpaUserRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_user_email"));
+
+        ConflictException thrown = assertThrows(ConflictException.class, () -> userService.createUser(userDto));
+        assertEquals("Существующий емайл", thrown.getMessage());
     }
 
     @Test
     void createUser_whenEmailExists_thenConflictExceptionShouldBeThrown() {
         UserDto userDto = new UserDto(1L, "Mike", "mike@test.com");
-        User existingUser = new User(2L, "John", "mike@test.com");
 
-        when(jpaUserRepository.findAll()).thenReturn(Collections.singletonList(existingUser));
+        when(jpaUserRepository.existsByEmail("mike@test.com")).thenReturn(true);
 
         ConflictException thrown = assertThrows(ConflictException.class, () -> userService.createUser(userDto));
         assertEquals("Существующий емайл", thrown.getMessage());
 
-        verify(jpaUserRepository, never()).save(any());
+        verify(jpaUserRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -91,46 +107,45 @@ public class UserServiceTest {
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> userService.updateUser(userId, userDto));
         assertEquals("Пользователь не найден", thrown.getMessage());
 
-        verify(jpaUserRepository, never()).save(any());
+        verify(jpaUserRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void updateUser_whenEmailExists_thenConflictExceptionShouldBeThrown() {
         Long userId = 1L;
         UserDto userDto = new UserDto(userId, "Mike", "mike@test.com");
-        User existingUser = new User(2L, "John", "mike@test.com");
-        User userToUpdate = new User(userId, "Old Name", "oldemail@test.com");
+        User userToUpdate = new User(userId, "Old Name", "oldemail@test.com", 0L);
 
         when(jpaUserRepository.getById(userId)).thenReturn(userToUpdate);
-        when(jpaUserRepository.findAll()).thenReturn(Arrays.asList(existingUser, userToUpdate));
+        when(jpaUserRepository.existsByEmailAndIdNot("mike@test.com", userId)).thenReturn(true);
 
         ConflictException thrown = assertThrows(ConflictException.class, () -> userService.updateUser(userId, userDto));
         assertEquals("Существующий емайл", thrown.getMessage());
 
-        verify(jpaUserRepository, never()).save(any());
+        verify(jpaUserRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void updateUser_whenValidUser_thenUserShouldBeUpdated() {
         Long userId = 1L;
         UserDto userDto = new UserDto(userId, "Mike", "newemail@test.com");
-        User existingUser = new User(userId, "Mike", "oldemail@test.com");
+        User existingUser = new User(userId, "Mike", "oldemail@test.com", 0L);
 
         when(jpaUserRepository.getById(userId)).thenReturn(existingUser);
-        when(jpaUserRepository.findAll()).thenReturn(Collections.singletonList(existingUser));
+        when(jpaUserRepository.existsByEmailAndIdNot("newemail@test.com", userId)).thenReturn(false);
 
         UserDto updatedUser = userService.updateUser(userId, userDto);
 
         assertEquals("Mike", updatedUser.getName());
         assertEquals("newemail@test.com", updatedUser.getEmail());
-        verify(jpaUserRepository).save(existingUser);
+        verify(jpaUserRepository).saveAndFlush(existingUser);
         assertEquals("newemail@test.com", existingUser.getEmail());
     }
 
     @Test
     void deleteUserById_whenUserExists_thenUserShouldBeDeleted() {
         Long userId = 1L;
-        User existingUser = new User(userId, "Mike", "mike@test.com");
+        User existingUser = new User(userId, "Mike", "mike@test.com", 0L);
 
         when(jpaUserRepository.getById(userId)).thenReturn(existingUser);
         UserDto deletedUserDto = userService.deleteUserById(userId);
@@ -140,6 +155,7 @@ public class UserServiceTest {
         assertEquals(existingUser.getEmail(), deletedUserDto.getEmail());
 
         verify(jpaUserRepository).deleteById(userId);
+        verify(domainEventPublisher).publishAfterCommit(DomainEventType.USER_DELETED, userId);
     }
 
     @Test